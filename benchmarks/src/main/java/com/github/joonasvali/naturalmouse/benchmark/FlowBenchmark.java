@@ -0,0 +1,66 @@
+package com.github.joonasvali.naturalmouse.benchmark;
+
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import com.github.joonasvali.naturalmouse.util.FlowUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowBenchmark {
+  @Param({"10", "50", "200"})
+  public int steps;
+
+  @Param({"100", "1000"})
+  public int stretchTarget;
+
+  private Flow flow;
+  private double[] template;
+  private double[] stretched;
+
+  @Setup
+  public void setup() {
+    template = FlowTemplates.variatingFlow();
+    flow = new Flow(template);
+    stretched = FlowUtil.stretchFlow(template, 2000);
+  }
+
+  /**
+   * Step sizes of a whole movement for both axes, same as done in the step loop.
+   */
+  @Benchmark
+  public void getStepSize(Blackhole bh) {
+    for (int i = 0; i < steps; i++) {
+      double completion = i / (double) steps;
+      bh.consume(flow.getStepSize(300, steps, completion));
+      bh.consume(flow.getStepSize(200, steps, completion));
+    }
+  }
+
+  @Benchmark
+  public double[] stretchFlow() {
+    return FlowUtil.stretchFlow(template, stretchTarget);
+  }
+
+  @Benchmark
+  public double[] reduceFlow() {
+    return FlowUtil.reduceFlow(stretched, stretchTarget);
+  }
+}
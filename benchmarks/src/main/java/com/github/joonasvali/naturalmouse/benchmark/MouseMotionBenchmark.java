@@ -0,0 +1,64 @@
+package com.github.joonasvali.naturalmouse.benchmark;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotion;
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import com.github.joonasvali.naturalmouse.util.FactoryTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full MouseMotion.move, from the start point to destination, including overshoots, against
+ * SystemCalls which never sleep.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MouseMotionBenchmark {
+  @Param({"default", "granny", "gamer"})
+  public String template;
+
+  private NoSleepSystemCalls systemCalls;
+  private MouseMotion motion;
+
+  @Setup
+  public void setup() {
+    systemCalls = new NoSleepSystemCalls(1920, 1080);
+    MouseMotionNature nature = new DefaultMouseMotionNature(systemCalls, systemCalls);
+    MouseMotionFactory factory;
+    switch (template) {
+      case "granny":
+        factory = FactoryTemplates.createGrannyMotionFactory(nature);
+        break;
+      case "gamer":
+        factory = FactoryTemplates.createFastGamerMotionFactory(nature);
+        break;
+      default:
+        factory = new MouseMotionFactory(nature);
+    }
+    factory.setRandom(new Random(1));
+    motion = factory.build(1500, 900);
+  }
+
+  @Benchmark
+  public void move() throws InterruptedException {
+    systemCalls.setMousePosition(100, 100);
+    motion.move();
+  }
+}
@@ -0,0 +1,52 @@
+package com.github.joonasvali.naturalmouse.benchmark;
+
+import com.github.joonasvali.naturalmouse.support.DefaultOvershootManager;
+import com.github.joonasvali.naturalmouse.support.DefaultSpeedManager;
+import com.github.joonasvali.naturalmouse.support.mousemotion.Movement;
+import com.github.joonasvali.naturalmouse.support.mousemotion.MovementFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning of the movements, overshoots and the final movement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MovementFactoryBenchmark {
+  @Param({"0", "3"})
+  public int overshoots;
+
+  private MovementFactory movementFactory;
+  private final Point start = new Point(100, 100);
+
+  @Setup
+  public void setup() {
+    DefaultSpeedManager speedManager = new DefaultSpeedManager();
+    DefaultOvershootManager overshootManager = new DefaultOvershootManager(new Random(1));
+    overshootManager.setOvershoots(overshoots);
+    movementFactory = new MovementFactory(1500, 900, speedManager, overshootManager, new Dimension(1920, 1080));
+  }
+
+  @Benchmark
+  public ArrayDeque<Movement> createMovements() {
+    return movementFactory.createMovements(start);
+  }
+}
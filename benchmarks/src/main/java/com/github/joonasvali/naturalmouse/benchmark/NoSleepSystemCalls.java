@@ -0,0 +1,44 @@
+package com.github.joonasvali.naturalmouse.benchmark;
+
+import com.github.joonasvali.naturalmouse.api.MouseInfoAccessor;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+
+import java.awt.*;
+
+/**
+ * SystemCalls and MouseInfoAccessor stand-in which never sleeps and keeps the cursor in memory,
+ * so benchmarks measure only the motion pipeline.
+ */
+public class NoSleepSystemCalls implements SystemCalls, MouseInfoAccessor {
+  private final Dimension screenSize;
+  private final Point position = new Point();
+
+  public NoSleepSystemCalls(int width, int height) {
+    this.screenSize = new Dimension(width, height);
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public void sleep(long time) {
+    // No sleeping, only the computation is measured.
+  }
+
+  @Override
+  public Dimension getScreenSize() {
+    return screenSize;
+  }
+
+  @Override
+  public void setMousePosition(int x, int y) {
+    position.setLocation(x, y);
+  }
+
+  @Override
+  public Point getMousePosition() {
+    return position;
+  }
+}
@@ -0,0 +1,55 @@
+package com.github.joonasvali.naturalmouse.benchmark;
+
+import com.github.joonasvali.naturalmouse.support.DefaultNoiseProvider;
+import com.github.joonasvali.naturalmouse.support.DoublePoint;
+import com.github.joonasvali.naturalmouse.support.SinusoidalDeviationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Noise and deviation providers, which are called once on every step.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProviderBenchmark {
+  private DefaultNoiseProvider noiseProvider;
+  private SinusoidalDeviationProvider deviationProvider;
+  private Random random;
+  private double completion;
+
+  @Setup
+  public void setup() {
+    noiseProvider = new DefaultNoiseProvider(DefaultNoiseProvider.DEFAULT_NOISINESS_DIVIDER);
+    deviationProvider = new SinusoidalDeviationProvider(SinusoidalDeviationProvider.DEFAULT_SLOPE_DIVIDER);
+    random = new Random(1);
+  }
+
+  @Benchmark
+  public DoublePoint getNoise() {
+    return noiseProvider.getNoise(random, 2.5, 1.5);
+  }
+
+  @Benchmark
+  public DoublePoint getDeviation() {
+    completion += 0.01;
+    if (completion > 1) {
+      completion = 0;
+    }
+    return deviationProvider.getDeviation(1000, completion);
+  }
+}
@@ -1,6 +1,7 @@
 package com.github.joonasvali.naturalmouse.api;
 
 import com.github.joonasvali.naturalmouse.support.DoublePoint;
+import com.github.joonasvali.naturalmouse.support.MutableDoublePoint;
 
 /**
  * Creates arcs or deviation into mouse movement.
@@ -34,4 +35,18 @@ public interface DeviationProvider {
    * @see com.github.joonasvali.naturalmouse.api.NoiseProvider
    */
   DoublePoint getDeviation(double totalDistanceInPixels, double completionFraction);
+
+  /**
+   * Writes the deviation into the provided point. This is the variant MouseMotion uses in its step loop,
+   * override it to avoid creating a DoublePoint for each step. By default delegates
+   * to {@link #getDeviation(double, double)}.
+   *
+   * @param totalDistanceInPixels the total pixels between target and mouse initial position
+   * @param completionFraction the completed fraction of mouse movement total distance, value from 0...1 (0;1]
+   * @param result the point where the deviation is written to, overwriting its previous value.
+   */
+  default void getDeviation(double totalDistanceInPixels, double completionFraction, MutableDoublePoint result) {
+    DoublePoint deviation = getDeviation(totalDistanceInPixels, completionFraction);
+    result.setLocation(deviation.getX(), deviation.getY());
+  }
 }
@@ -1,17 +1,26 @@
 package com.github.joonasvali.naturalmouse.api;
 
-import com.github.joonasvali.naturalmouse.support.DoublePoint;
-import com.github.joonasvali.naturalmouse.support.Flow;
 import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.PositionTracker;
+import com.github.joonasvali.naturalmouse.support.PositionTracker.Checkpoint;
+import com.github.joonasvali.naturalmouse.support.Target;
 import com.github.joonasvali.naturalmouse.support.mousemotion.Movement;
 import com.github.joonasvali.naturalmouse.support.mousemotion.MovementFactory;
-import com.github.joonasvali.naturalmouse.util.MathUtil;
+import com.github.joonasvali.naturalmouse.support.mousemotion.ScheduledTrajectoryPlayer;
+import com.github.joonasvali.naturalmouse.support.mousemotion.StepPacer;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryCache;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
 import java.awt.*;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
 
 /**
  * Contains instructions to move cursor smoothly to the destination coordinates from where ever the cursor
@@ -19,24 +28,33 @@ import java.util.Random;
  * but reliable way, described in this class, to the destination.
  */
 public class MouseMotion {
+  /**
+   * The time budget of a motion which may take as long as its random nature makes it to take.
+   */
+  public static final long NO_TIME_BUDGET = Long.MAX_VALUE;
   private static final Logger log = LoggerFactory.getLogger(MouseMotion.class);
   private static final int SLEEP_AFTER_ADJUSTMENT_MS = 2;
-  private final int minSteps;
-  private final int effectFadeSteps;
   private final int reactionTimeBaseMs;
   private final int reactionTimeVariationMs;
-  private final double timeToStepsDivider;
   private final Dimension screenSize;
   private final SystemCalls systemCalls;
-  private final DeviationProvider deviationProvider;
-  private final NoiseProvider noiseProvider;
   private final SpeedManager speedManager;
   private final OvershootManager overshootManager;
   private final int xDest;
   private final int yDest;
+  private final Target target;
+  private final long timeBudgetMs;
   private final Random random;
+  private final MouseMotionNature nature;
   private final MouseInfoAccessor mouseInfo;
+  // When null, the position is always queried from mouseInfo.
+  private final PositionTracker positionTracker;
+  private final StepPacer pacer;
+  private final TrajectoryPlanner planner;
+  // Steps of the current movement, reused between movements.
+  private final TrajectoryPlan.Builder steps = new TrajectoryPlan.Builder();
   private Point mousePosition;
+  private boolean timeBudgetExceeded;
 
   /**
    * @param nature the nature that defines how mouse is moved
@@ -45,21 +63,122 @@ public class MouseMotion {
    * @param random the random used for unpredictability
    */
   public MouseMotion(MouseMotionNature nature, Random random, int xDest, int yDest) {
-    this.deviationProvider = nature.getDeviationProvider();
-    this.noiseProvider = nature.getNoiseProvider();
-    this.systemCalls = nature.getSystemCalls();
+    this(nature, random, Target.point(xDest, yDest));
+  }
+
+  /**
+   * The cursor is aimed at a landing point chosen inside the target and the motion is complete
+   * as soon as the cursor is anywhere inside the target.
+   *
+   * @param nature the nature that defines how mouse is moved
+   * @param random the random used for unpredictability
+   * @param target the area where the cursor should end up
+   */
+  public MouseMotion(MouseMotionNature nature, Random random, Target target) {
+    this(nature, random, target, NO_TIME_BUDGET);
+  }
+
+  /**
+   * The whole motion, including overshoots and reaction times, is planned to complete within the time budget.
+   * To fit the budget, the reaction time between the movements is limited first, then the overshoots are dropped
+   * and finally the cursor is moved faster.
+   *
+   * @param nature the nature that defines how mouse is moved
+   * @param random the random used for unpredictability
+   * @param target the area where the cursor should end up
+   * @param timeBudgetMs the time in ms the motion may take, or {@link #NO_TIME_BUDGET}
+   */
+  public MouseMotion(MouseMotionNature nature, Random random, Target target, long timeBudgetMs) {
+    if (timeBudgetMs < 0) {
+      throw new IllegalArgumentException("Invalid time budget: " + timeBudgetMs);
+    }
+    this.timeBudgetMs = timeBudgetMs;
+    this.positionTracker = nature.getPositionTracker();
+    this.systemCalls = positionTracker != null
+        ? positionTracker.track(nature.getSystemCalls())
+        : nature.getSystemCalls();
     this.screenSize = systemCalls.getScreenSize();
-    this.xDest = limitByScreenWidth(xDest);
-    this.yDest = limitByScreenHeight(yDest);
+    Point landingPoint = target.getLandingPoint(random);
+    this.xDest = limitByScreenWidth(landingPoint.x);
+    this.yDest = limitByScreenHeight(landingPoint.y);
+    this.target = target;
     this.random = random;
+    this.nature = nature;
     this.mouseInfo = nature.getMouseInfo();
+    this.pacer = new StepPacer(
+        systemCalls, nature.getWaitStrategy(), nature.getCatchUpPolicy(), nature.getLagStatistics()
+    );
     this.speedManager = nature.getSpeedManager();
-    this.timeToStepsDivider = nature.getTimeToStepsDivider();
-    this.minSteps = nature.getMinSteps();
-    this.effectFadeSteps = nature.getEffectFadeSteps();
     this.reactionTimeBaseMs = nature.getReactionTimeBaseMs();
     this.reactionTimeVariationMs = nature.getReactionTimeVariationMs();
     this.overshootManager = nature.getOvershootManager();
+    this.planner = new TrajectoryPlanner(nature, random, screenSize);
+  }
+
+  /**
+   * Computes the whole motion from the current cursor position to the destination without moving the cursor.
+   * The resulting plan can be executed later with a TrajectoryPlayer.
+   *
+   * @return the plan
+   */
+  public TrajectoryPlan plan() {
+    updateMouseInfo(Checkpoint.MOTION_START);
+    return plan(mousePosition.x, mousePosition.y);
+  }
+
+  /**
+   * Computes the whole motion from given start position to the destination without moving the cursor
+   * or touching SystemCalls. The resulting plan can be executed later with a TrajectoryPlayer.
+   * If the nature has a TrajectoryCache and the target is a point, the plan may be a cached one. The cache
+   * doesn't know the target area, so the other targets are always planned.
+   * The duration of the plan is at most the time budget of the motion.
+   *
+   * @param xStart the x-coordinate where the motion starts
+   * @param yStart the y-coordinate where the motion starts
+   * @return the plan
+   */
+  public TrajectoryPlan plan(int xStart, int yStart) {
+    TrajectoryCache cache = nature.getTrajectoryCache();
+    if (cache != null && target.isPoint() && !isOnTarget(xStart, yStart)) {
+      TrajectoryPlan plan = cache.plan(nature, random, xStart, yStart, xDest, yDest, screenSize);
+      if (plan.getDurationNanos() <= TimeUnit.MILLISECONDS.toNanos(timeBudgetMs)) {
+        return plan;
+      }
+    }
+    return planner.plan(xStart, yStart, xDest, yDest, target, timeBudgetMs);
+  }
+
+  /**
+   * Non-blocking call, starts to move the cursor to the specified location from where it currently is.
+   * The steps are executed in the shared executor, see {@link ScheduledTrajectoryPlayer#getSharedExecutor()}.
+   *
+   * @return the future which completes when the cursor has reached the destination. Cancelling the future
+   * stops the movement within a step.
+   * @see #moveAsync(MouseMotionObserver, ScheduledExecutorService)
+   */
+  public CompletableFuture<Void> moveAsync() {
+    return moveAsync((x, y) -> {
+    }, ScheduledTrajectoryPlayer.getSharedExecutor());
+  }
+
+  /**
+   * Non-blocking call, starts to move the cursor to the specified location from where it currently is.
+   *
+   * The motion is planned from the current cursor position on the calling thread and then every step,
+   * including the reaction time between overshoots, is executed as a timed task in the executor,
+   * so no thread is blocked for the duration of the movement. Unlike {@link #move(MouseMotionObserver)},
+   * the cursor position is not checked and corrected between the movements.
+   *
+   * @param observer Provide observer if you are interested receiving the location of mouse on every step,
+   *                 it's called from the executor threads.
+   * @param executor the executor where the steps are scheduled
+   * @return the future which completes when the cursor has reached the destination. Cancelling the future
+   * stops the movement within a step.
+   */
+  public CompletableFuture<Void> moveAsync(MouseMotionObserver observer, ScheduledExecutorService executor) {
+    TrajectoryPlan plan = plan();
+    log.info("Starting to move mouse asynchronously to ({}, {}) in {} steps", xDest, yDest, plan.size());
+    return new ScheduledTrajectoryPlayer(systemCalls, executor).play(plan, observer);
   }
 
   /**
@@ -79,115 +198,57 @@ public class MouseMotion {
    * @throws InterruptedException when interrupted
    */
   public void move(MouseMotionObserver observer) throws InterruptedException {
-    updateMouseInfo();
+    long motionStartTime = systemCalls.nanoTime();
+    timeBudgetExceeded = false;
+    updateMouseInfo(Checkpoint.MOTION_START);
     log.info("Starting to move mouse to ({}, {}), current position: ({}, {})", xDest, yDest, mousePosition.x, mousePosition.y);
 
-    MovementFactory movementFactory = new MovementFactory(xDest, yDest, speedManager, overshootManager, screenSize);
-    ArrayDeque<Movement> movements = movementFactory.createMovements(mousePosition);
+    MovementFactory movementFactory = new MovementFactory(
+        xDest, yDest, target, speedManager, overshootManager, screenSize, random
+    );
+    ArrayDeque<Movement> movements = movementFactory.createMovements(mousePosition, timeBudgetMs);
+    long reactionTimeLimitMs = MovementFactory.getReactionTimeLimitMs(movements, timeBudgetMs);
     int overshoots = movements.size() - 1;
-    while (mousePosition.x != xDest || mousePosition.y != yDest) {
+    while (!isOnTarget(mousePosition.x, mousePosition.y)) {
       if (movements.isEmpty()) {
         // This shouldn't usually happen, but it's possible that somehow we won't end up on the target,
         // Then just re-attempt from mouse new position. (There are known JDK bugs, that can cause sending the cursor
         // to wrong pixel)
-        updateMouseInfo();
+        updateMouseInfo(Checkpoint.MOVEMENT_END);
         log.warn("Re-populating movement array. Did not end up on target pixel.");
-        movements = movementFactory.createMovements(mousePosition);
+        long remainingTimeMs = Math.max(0, timeBudgetMs - getElapsedTimeMs(motionStartTime));
+        movements = movementFactory.createMovements(mousePosition, remainingTimeMs);
+        reactionTimeLimitMs = MovementFactory.getReactionTimeLimitMs(movements, remainingTimeMs);
       }
 
       Movement movement = movements.removeFirst();
-      if (!movements.isEmpty()) {
+      if (!movements.isEmpty() && log.isDebugEnabled()) {
         log.debug("Using overshoots ({} out of {}), aiming at ({}, {})",
             overshoots - movements.size() + 1, overshoots, movement.destX, movement.destY);
       }
 
-      double distance = movement.distance;
-      long mouseMovementMs = movement.time;
-      Flow flow = movement.flow;
-      double xDistance = movement.xDistance;
-      double yDistance = movement.yDistance;
-      log.debug("Movement arc length computed to {} and time predicted to {} ms", distance, mouseMovementMs);
-
-      /* Number of steps is calculated from the movement time and limited by minimal amount of steps
-         (should have at least MIN_STEPS) and distance (shouldn't have more steps than pixels travelled) */
-      int steps = (int) Math.ceil(Math.min(distance, Math.max(mouseMovementMs / timeToStepsDivider, minSteps)));
-
-      long startTime = systemCalls.currentTimeMillis();
-      long stepTime = (long) (mouseMovementMs / (double) steps);
-
-      updateMouseInfo();
-      double simulatedMouseX = mousePosition.x;
-      double simulatedMouseY = mousePosition.y;
-
-      double deviationMultiplierX = (random.nextDouble() - 0.5) * 2;
-      double deviationMultiplierY = (random.nextDouble() - 0.5) * 2;
-
-      double completedXDistance = 0;
-      double completedYDistance = 0;
-      double noiseX = 0;
-      double noiseY = 0;
-
-      for (int i = 0; i < steps; i++) {
-        // All steps take equal amount of time. This is a value from 0...1 describing how far along the process is.
-        double timeCompletion = i / (double) steps;
-
-        double effectFadeStep = Math.max(i - (steps - effectFadeSteps) + 1, 0);
-        // value from 0 to 1, when effectFadeSteps remaining steps, starts to decrease to 0 linearly
-        // This is here so noise and deviation wouldn't add offset to mouse final position, when we need accuracy.
-        double effectFadeMultiplier = (effectFadeSteps - effectFadeStep) / effectFadeSteps;
-
-        double xStepSize = flow.getStepSize(xDistance, steps, timeCompletion);
-        double yStepSize = flow.getStepSize(yDistance, steps, timeCompletion);
-
-        completedXDistance += xStepSize;
-        completedYDistance += yStepSize;
-        double completedDistance = Math.hypot(completedXDistance, completedYDistance);
-        double completion = Math.min(1, completedDistance / distance);
-        log.trace("Step: x: {} y: {} tc: {} c: {}", xStepSize, yStepSize, timeCompletion, completion);
-
-        DoublePoint noise = noiseProvider.getNoise(random, xStepSize, yStepSize);
-        DoublePoint deviation = deviationProvider.getDeviation(distance, completion);
-
-        noiseX += noise.getX();
-        noiseY += noise.getY();
-        simulatedMouseX += xStepSize;
-        simulatedMouseY += yStepSize;
-
-        log.trace("EffectFadeMultiplier: {}", effectFadeMultiplier);
-        log.trace("SimulatedMouse: [{}, {}]", simulatedMouseX, simulatedMouseY);
-
-        long endTime = startTime + stepTime * (i + 1);
-        int mousePosX = MathUtil.roundTowards(
-            simulatedMouseX +
-            deviation.getX() * deviationMultiplierX * effectFadeMultiplier +
-            noiseX * effectFadeMultiplier,
-            movement.destX
-        );
-
-        int mousePosY = MathUtil.roundTowards(
-            simulatedMouseY +
-            deviation.getY() * deviationMultiplierY * effectFadeMultiplier +
-            noiseY * effectFadeMultiplier,
-            movement.destY
-        );
-
-        mousePosX = limitByScreenWidth(mousePosX);
-        mousePosY = limitByScreenHeight(mousePosY);
-
-        systemCalls.setMousePosition(
-            mousePosX,
-            mousePosY
-        );
+      long startTime = systemCalls.nanoTime();
+      updateMouseInfo(Checkpoint.MOVEMENT_START);
+      steps.clear();
+      long endTime = planner.planMovement(movement, mousePosition.x, mousePosition.y, startTime, steps);
+      int lastStep = steps.size() - 1;
+      IntToLongFunction deadlines = step -> step <= lastStep ? steps.getTimeNanos(step) : endTime;
+      for (int i = pacer.awaitFirstStep(deadlines, lastStep); i <= lastStep; ) {
+        int mousePosX = steps.getX(i);
+        int mousePosY = steps.getY(i);
+        systemCalls.setMousePosition(mousePosX, mousePosY);
 
         // Allow other action to take place or just observe, we'll later compensate by sleeping less.
         observer.observe(mousePosX, mousePosY);
 
-        long timeLeft = endTime - systemCalls.currentTimeMillis();
-        sleepAround(Math.max(timeLeft, 0), 0);
+        // Deadlines are absolute, so time lost on a single step doesn't add up over the movement.
+        // If the steps fall behind anyway, the pacer catches up according to the CatchUpPolicy.
+        i = awaitStep(deadlines, i + 1, lastStep);
       }
-      updateMouseInfo();
+      updateMouseInfo(Checkpoint.MOVEMENT_END);
 
-      if (mousePosition.x != movement.destX || mousePosition.y != movement.destY) {
+      if ((mousePosition.x != movement.destX || mousePosition.y != movement.destY)
+          && !isOnTarget(mousePosition.x, mousePosition.y)) {
         // It's possible that mouse is manually moved or for some other reason.
         // Let's start next step from pre-calculated location to prevent errors from accumulating.
         // But print warning as this is not expected behavior.
@@ -197,17 +258,45 @@ public class MouseMotion {
         );
         systemCalls.setMousePosition(movement.destX, movement.destY);
         // Let's wait a bit before getting mouse info.
-        sleepAround(SLEEP_AFTER_ADJUSTMENT_MS, 0);
-        updateMouseInfo();
+        sleepAround(SLEEP_AFTER_ADJUSTMENT_MS, 0, SLEEP_AFTER_ADJUSTMENT_MS);
+        updateMouseInfo(Checkpoint.ADJUSTMENT);
       }
 
-      if (mousePosition.x != xDest || mousePosition.y != yDest) {
+      if (!isOnTarget(mousePosition.x, mousePosition.y)) {
         // We are dealing with overshoot, let's sleep a bit to simulate human reaction time.
-        sleepAround(reactionTimeBaseMs, reactionTimeVariationMs);
+        sleepAround(reactionTimeBaseMs, reactionTimeVariationMs, reactionTimeLimitMs);
       }
       log.debug("Steps completed, mouse at " + mousePosition.x + " " + mousePosition.y);
     }
     log.info("Mouse movement to ({}, {}) completed", xDest, yDest);
+
+    long elapsedTimeMs = getElapsedTimeMs(motionStartTime);
+    if (elapsedTimeMs > timeBudgetMs) {
+      timeBudgetExceeded = true;
+      log.warn("Mouse movement to ({}, {}) took {} ms, time budget was {} ms", xDest, yDest, elapsedTimeMs, timeBudgetMs);
+    }
+  }
+
+  /**
+   * @return the time in ms the motion may take, or {@link #NO_TIME_BUDGET}
+   */
+  public long getTimeBudgetMs() {
+    return timeBudgetMs;
+  }
+
+  /**
+   * The motion is planned to fit the time budget, but the budget can't be met if e.g. the cursor
+   * needs corrections or the system doesn't wake up from sleep in time.
+   *
+   * @return true if the last blocking move took longer than the time budget
+   */
+  public boolean isTimeBudgetExceeded() {
+    return timeBudgetExceeded;
+  }
+
+  private boolean isOnTarget(int x, int y) {
+    // The landing point is limited by the screen, so it may be outside of the target.
+    return (x == xDest && y == yDest) || target.contains(x, y);
   }
 
   private int limitByScreenWidth(int value) {
@@ -218,16 +307,33 @@ public class MouseMotion {
     return Math.max(0, Math.min(screenSize.height - 1, value));
   }
 
-  private void sleepAround(long sleepMin, long randomPart) throws InterruptedException {
-    long sleepTime = (long) (sleepMin + random.nextDouble() * randomPart);
+  private long getElapsedTimeMs(long startTimeNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(systemCalls.nanoTime() - startTimeNanos);
+  }
+
+  private void sleepAround(long sleepMin, long randomPart, long sleepMax) throws InterruptedException {
+    long sleepTime = Math.min((long) (sleepMin + random.nextDouble() * randomPart), sleepMax);
     if (log.isTraceEnabled() && sleepTime > 0) {
-      updateMouseInfo();
+      updateMouseInfo(Checkpoint.LOGGING);
       log.trace("Sleeping at ({}, {}) for {} ms", mousePosition.x, mousePosition.y, sleepTime);
     }
     systemCalls.sleep(sleepTime);
   }
 
-  private void updateMouseInfo() {
+  private int awaitStep(IntToLongFunction deadlines, int next, int lastStep) throws InterruptedException {
+    if (log.isTraceEnabled()) {
+      updateMouseInfo(Checkpoint.LOGGING);
+      log.trace("Waiting at ({}, {}) for {} ns",
+          mousePosition.x, mousePosition.y, deadlines.applyAsLong(next) - systemCalls.nanoTime());
+    }
+    return pacer.awaitStep(deadlines, next, lastStep);
+  }
+
+  private void updateMouseInfo(Checkpoint checkpoint) {
+    if (positionTracker != null) {
+      mousePosition = positionTracker.getMousePosition(checkpoint, mouseInfo, systemCalls);
+      return;
+    }
     mousePosition = mouseInfo.getMousePosition();
   }
 
@@ -2,18 +2,29 @@ package com.github.joonasvali.naturalmouse.api;
 
 import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
 import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonasvali.naturalmouse.support.Target;
 
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class should be used for creating new `MouseMotion`s. The default instance
  * is available via getDefault(), but can create new instance via constructor.
+ *
+ * The factory can be shared between threads. Unless a Random is set with {@link #setRandom(Random)} or
+ * created by {@link #getRandom()}, every MouseMotion gets its own SplittableRandomAdapter seeded from
+ * ThreadLocalRandom, so the threads don't contend on a shared seed.
+ * A MouseMotion itself is not thread safe, it should be moved by one thread at a time. The default nature
+ * components are thread safe, custom components need to be thread safe too when the factory is shared.
  */
 public class MouseMotionFactory {
   private static final AtomicReference<MouseMotionFactory> defaultFactory = new AtomicReference<>();
-  private MouseMotionNature nature;
-  private Random random = new Random();
+  private volatile MouseMotionNature nature;
+  // When null, every MouseMotion gets its own random.
+  private volatile Random random;
 
   public MouseMotionFactory(MouseMotionNature nature) {
     this.nature = nature;
@@ -33,7 +44,43 @@ public class MouseMotionFactory {
    * where mouse was during building.)
    */
   public MouseMotion build(int xDest, int yDest) {
-    return new MouseMotion(nature, random, xDest, yDest);
+    return new MouseMotion(nature, getMotionRandom(), xDest, yDest);
+  }
+
+  /**
+   * Builds the MouseMotion to an area, e.g. a button. The motion ends anywhere inside the target,
+   * which avoids the correcting movements needed for landing on an exact pixel.
+   *
+   * @param target the area where the mouse should end up
+   * @return the MouseMotion which can be executed instantly or saved for later.
+   */
+  public MouseMotion build(Target target) {
+    return new MouseMotion(nature, getMotionRandom(), target);
+  }
+
+  /**
+   * Builds the MouseMotion which completes within the time budget, e.g. to meet a deadline of an action.
+   * See {@link MouseMotion#isTimeBudgetExceeded()} for checking whether the budget was met.
+   *
+   * @param xDest the end position x-coordinate for the mouse
+   * @param yDest the end position y-coordinate for the mouse
+   * @param timeBudgetMs the time in ms the motion may take
+   * @return the MouseMotion which can be executed instantly or saved for later.
+   */
+  public MouseMotion build(int xDest, int yDest, long timeBudgetMs) {
+    return build(Target.point(xDest, yDest), timeBudgetMs);
+  }
+
+  /**
+   * Builds the MouseMotion to an area which completes within the time budget.
+   * See {@link MouseMotion#isTimeBudgetExceeded()} for checking whether the budget was met.
+   *
+   * @param target the area where the mouse should end up
+   * @param timeBudgetMs the time in ms the motion may take
+   * @return the MouseMotion which can be executed instantly or saved for later.
+   */
+  public MouseMotion build(Target target, long timeBudgetMs) {
+    return new MouseMotion(nature, getMotionRandom(), target, timeBudgetMs);
   }
 
   /**
@@ -47,6 +94,36 @@ public class MouseMotionFactory {
     build(xDest, yDest).move();
   }
 
+  /**
+   * Start moving the mouse to specified area. Blocks until the mouse is inside it.
+   *
+   * @param target the area where the mouse should end up
+   * @throws InterruptedException if something interrupts the thread.
+   */
+  public void move(Target target) throws InterruptedException {
+    build(target).move();
+  }
+
+  /**
+   * Start moving the mouse to specified location without blocking.
+   * see {@link MouseMotion#moveAsync()}
+   *
+   * @param xDest the end position x-coordinate for the mouse
+   * @param yDest the end position y-coordinate for the mouse
+   * @return the future which completes when the mouse has reached the destination.
+   */
+  public CompletableFuture<Void> moveAsync(int xDest, int yDest) {
+    return build(xDest, yDest).moveAsync();
+  }
+
+  private Random getMotionRandom() {
+    Random motionRandom = random;
+    if (motionRandom == null) {
+      motionRandom = new SplittableRandomAdapter(ThreadLocalRandom.current().nextLong());
+    }
+    return motionRandom;
+  }
+
   /**
    * Get the default factory implementation.
    *
@@ -114,18 +191,35 @@ public class MouseMotionFactory {
   }
 
   /**
-   * Get the random used whenever randomized behavior is needed in MouseMotion
+   * Get the random used whenever randomized behavior is needed in MouseMotion. If no random is set, a new
+   * random is created and set, as if given to {@link #setRandom(Random)}, so seeding the returned random
+   * makes the motions built afterwards reproducible. The motions then share the random and shouldn't be
+   * executed concurrently, call setRandom(null) to give every MouseMotion its own random again.
    *
-   * @return the random
+   * @return the random, never null
    */
   public Random getRandom() {
-    return random;
+    Random shared = random;
+    if (shared == null) {
+      synchronized (this) {
+        shared = random;
+        if (shared == null) {
+          shared = new SplittableRandomAdapter(ThreadLocalRandom.current().nextLong());
+          random = shared;
+        }
+      }
+    }
+    return shared;
   }
 
   /**
-   * Set the random used whenever randomized behavior is needed in MouseMotion
+   * Set the random used whenever randomized behavior is needed in MouseMotion. The random is shared by all
+   * motions built afterwards, which makes the motions reproducible with a seeded random,
+   * but the motions shouldn't be executed concurrently then. The random is also passed to the SpeedManager
+   * and OvershootManager, unless they were given a random of their own.
+   * SplittableRandomAdapter or Xoroshiro128PlusRandom are faster than java.util.Random.
    *
-   * @param random the random
+   * @param random the random, or null to give every MouseMotion its own random.
    */
   public void setRandom(Random random) {
     this.random = random;
@@ -202,4 +296,22 @@ public class MouseMotionFactory {
   public OvershootManager getOvershootManager() {
     return nature.getOvershootManager();
   }
+
+  /**
+   * see {@link MouseMotionNature#getWaitStrategy()}
+   *
+   * @return the strategy
+   */
+  public WaitStrategy getWaitStrategy() {
+    return nature.getWaitStrategy();
+  }
+
+  /**
+   * see {@link MouseMotionNature#setWaitStrategy(WaitStrategy)}
+   *
+   * @param waitStrategy the strategy
+   */
+  public void setWaitStrategy(WaitStrategy waitStrategy) {
+    nature.setWaitStrategy(waitStrategy);
+  }
 }
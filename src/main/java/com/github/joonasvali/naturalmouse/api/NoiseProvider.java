@@ -1,6 +1,7 @@
 package com.github.joonasvali.naturalmouse.api;
 
 import com.github.joonasvali.naturalmouse.support.DoublePoint;
+import com.github.joonasvali.naturalmouse.support.MutableDoublePoint;
 
 import java.util.Random;
 
@@ -35,4 +36,45 @@ public interface NoiseProvider {
    *
    */
   DoublePoint getNoise(Random random, double xStepSize, double yStepSize);
+
+  /**
+   * Same as {@link #getNoise(Random, double, double)}, but writes the result into the provided point
+   * instead of returning a new object. MouseMotion calls this method on every step, so implementations
+   * which care about allocations should override it. The default implementation delegates
+   * to {@link #getNoise(Random, double, double)}.
+   *
+   * @param random use this to generate randomness in the offset
+   * @param xStepSize the step size that is taken horizontally
+   * @param yStepSize the step size that is taken vertically
+   * @param result the point where the noise is written to, overwriting its previous value.
+   */
+  default void getNoise(Random random, double xStepSize, double yStepSize, MutableDoublePoint result) {
+    DoublePoint noise = getNoise(random, xStepSize, yStepSize);
+    result.setLocation(noise.getX(), noise.getY());
+  }
+
+  /**
+   * Noise for all the steps of a movement at once, so the noise can be generated when the movement is planned
+   * and in a single pass. The step sizes are the step fractions multiplied with the distance on the axis.
+   * Implementations may use the random only to seed a faster generator, so the noise doesn't need to be
+   * the same as step by step. The default implementation calls
+   * {@link #getNoise(Random, double, double, MutableDoublePoint)} for every step.
+   *
+   * @param random use this to generate randomness in the offset
+   * @param stepFractions the fraction of the distance taken on each step,
+   *                      see {@link com.github.joonasvali.naturalmouse.support.Flow#getStepFractions(int)}
+   * @param xDistance the distance of the movement horizontally
+   * @param yDistance the distance of the movement vertically
+   * @param xNoise the array where the horizontal noise of each step is written, at least as long as stepFractions
+   * @param yNoise the array where the vertical noise of each step is written, at least as long as stepFractions
+   */
+  default void getNoise(Random random, double[] stepFractions, double xDistance, double yDistance,
+                        double[] xNoise, double[] yNoise) {
+    MutableDoublePoint noise = new MutableDoublePoint();
+    for (int i = 0; i < stepFractions.length; i++) {
+      getNoise(random, stepFractions[i] * xDistance, stepFractions[i] * yDistance, noise);
+      xNoise[i] = noise.getX();
+      yNoise[i] = noise.getY();
+    }
+  }
 }
@@ -3,6 +3,7 @@ package com.github.joonasvali.naturalmouse.api;
 import com.github.joonasvali.naturalmouse.support.Flow;
 
 import java.awt.*;
+import java.util.Random;
 
 /**
  *  Overshoots provide a realistic way to simulate user trying to reach the destination with mouse, but miss.
@@ -23,6 +24,21 @@ public interface OvershootManager {
    */
   int getOvershoots(Flow flow, long mouseMovementMs, double distance);
 
+  /**
+   * Same as {@link #getOvershoots(Flow, long, double)}, but for a target which is an area instead of a pixel.
+   * Overshoots which land inside the target complete the motion, so a large target may need less overshoots.
+   * The default implementation ignores the size and delegates to {@link #getOvershoots(Flow, long, double)}.
+   *
+   * @param flow the flow which is planned to be used to reach the target.
+   * @param mouseMovementMs the planned time for reaching the real target
+   * @param distance the distance between mouse position and real target
+   * @param targetSize the size of the target in pixels, see {@link com.github.joonasvali.naturalmouse.support.Target#getSize()}
+   * @return the number of maximum overshoots used or 0 if no overshoots
+   */
+  default int getOvershoots(Flow flow, long mouseMovementMs, double distance, double targetSize) {
+    return getOvershoots(flow, mouseMovementMs, distance);
+  }
+
   /**
    * Returns the overshoot amount which will be added to real target, thus getting the overshoot target.
    *
@@ -35,6 +51,24 @@ public interface OvershootManager {
    */
   Point getOvershootAmount(double distanceToRealTargetX, double distanceToRealTargetY, long mouseMovementMs, int overshootsRemaining);
 
+  /**
+   * Same as {@link #getOvershootAmount(double, double, long, int)}, but the randomness is drawn from the random
+   * of the motion, so the whole motion can be reproduced from a single seed. The default implementation ignores
+   * the random and delegates to {@link #getOvershootAmount(double, double, long, int)}.
+   *
+   * @param random the random of the motion
+   * @param distanceToRealTargetX distance to real target X-coordinate
+   * @param distanceToRealTargetY distance to real target Y-coordinate
+   * @param mouseMovementMs the time planned for reaching the real target
+   * @param overshootsRemaining the amount of overshoots remaining, current included.
+   *                            Values from (n to 1), where n &gt;= 1
+   * @return the amount which will be added to real target, thus getting the overshoot target.
+   */
+  default Point getOvershootAmount(Random random, double distanceToRealTargetX, double distanceToRealTargetY,
+                                   long mouseMovementMs, int overshootsRemaining) {
+    return getOvershootAmount(distanceToRealTargetX, distanceToRealTargetY, mouseMovementMs, overshootsRemaining);
+  }
+
   /**
    * Once the mouse reaches the overshoot target, new trajectory with new speed is calculated for next target
    * (can be real or overshoot target, if the next target is real target, the overshootsRemaining value is 0)
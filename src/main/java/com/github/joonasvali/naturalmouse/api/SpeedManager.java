@@ -3,6 +3,8 @@ package com.github.joonasvali.naturalmouse.api;
 import com.github.joonasvali.naturalmouse.support.Flow;
 import com.github.joonasvali.naturalmouse.util.Pair;
 
+import java.util.Random;
+
 /**
  * SpeedManager controls how long does it take to complete a mouse movement and within that
  * time how slow or fast the cursor is moving at a particular moment, the flow.
@@ -16,4 +18,17 @@ public interface SpeedManager {
    * @return the SpeedFlow object, which details are a SpeedManager implementation decision.
    */
   Pair<Flow, Long> getFlowWithTime(double distance);
+
+  /**
+   * Same as {@link #getFlowWithTime(double)}, but the randomness is drawn from the random of the motion,
+   * so the whole motion can be reproduced from a single seed. The default implementation ignores the random
+   * and delegates to {@link #getFlowWithTime(double)}.
+   *
+   * @param random the random of the motion
+   * @param distance the distance from where the cursor is now to the destination point
+   * @return the SpeedFlow object, which details are a SpeedManager implementation decision.
+   */
+  default Pair<Flow, Long> getFlowWithTime(Random random, double distance) {
+    return getFlowWithTime(distance);
+  }
 }
@@ -1,6 +1,7 @@
 package com.github.joonasvali.naturalmouse.api;
 
 import java.awt.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstracts ordinary static System calls away
@@ -10,4 +11,15 @@ public interface SystemCalls {
   void sleep(long time) throws InterruptedException;
   Dimension getScreenSize();
   void setMousePosition(int x, int y);
+
+  /**
+   * Nanosecond clock used for scheduling the steps, only differences between the values are meaningful.
+   * The default implementation is derived from currentTimeMillis, so it has only millisecond precision,
+   * override this for precise timing.
+   *
+   * @return the current value of the clock in nanoseconds
+   */
+  default long nanoTime() {
+    return TimeUnit.MILLISECONDS.toNanos(currentTimeMillis());
+  }
 }
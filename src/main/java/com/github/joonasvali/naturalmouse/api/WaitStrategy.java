@@ -0,0 +1,20 @@
+package com.github.joonasvali.naturalmouse.api;
+
+/**
+ * Defines how MouseMotion waits between the steps. Steps are scheduled to absolute deadlines
+ * on the SystemCalls nanosecond clock, so the error of a single wait does not accumulate over the movement.
+ *
+ * @see com.github.joonasvali.naturalmouse.support.SleepWaitStrategy
+ * @see com.github.joonasvali.naturalmouse.support.ParkWaitStrategy
+ * @see com.github.joonasvali.naturalmouse.support.SpinWaitStrategy
+ */
+public interface WaitStrategy {
+  /**
+   * Blocks until the deadline is reached. Returns immediately if the deadline has already passed.
+   *
+   * @param systemCalls the system calls which clock the deadline is measured with
+   * @param deadlineNanos the deadline as returned by {@link SystemCalls#nanoTime()}
+   * @throws InterruptedException when interrupted
+   */
+  void waitUntil(SystemCalls systemCalls, long deadlineNanos) throws InterruptedException;
+}
@@ -0,0 +1,23 @@
+package com.github.joonasvali.naturalmouse.support;
+
+/**
+ * Defines what is done when the steps of a movement fall behind the schedule, e.g. because the observer or
+ * setting the cursor position was slow. Lateness is counted in LagStatistics regardless of the policy.
+ */
+public enum CatchUpPolicy {
+  /**
+   * Every step is executed, the late ones without waiting. This catches up with short delays, but if every
+   * step is slow, the motion takes longer than planned.
+   */
+  EXECUTE_ALL,
+  /**
+   * The steps which are already overdue are skipped and the cursor jumps to the latest due step, so the motion
+   * gets back on the timeline. The last step of a movement is never skipped.
+   */
+  SKIP,
+  /**
+   * The remaining steps of the movement are spread over the time left until the planned end of the movement,
+   * so no steps are left out and the movement still ends on time, but the remaining steps are faster.
+   */
+  STRETCH
+}
@@ -4,7 +4,6 @@ import com.github.joonasvali.naturalmouse.api.MouseInfoAccessor;
 import com.github.joonasvali.naturalmouse.api.SystemCalls;
 
 import java.awt.*;
-import java.util.Random;
 
 import static com.github.joonasvali.naturalmouse.support.DefaultNoiseProvider.DEFAULT_NOISINESS_DIVIDER;
 import static com.github.joonasvali.naturalmouse.support.SinusoidalDeviationProvider.DEFAULT_SLOPE_DIVIDER;
@@ -32,13 +31,17 @@ public class DefaultMouseMotionNature extends MouseMotionNature {
     setDeviationProvider(new SinusoidalDeviationProvider(DEFAULT_SLOPE_DIVIDER));
     setNoiseProvider(new DefaultNoiseProvider(DEFAULT_NOISINESS_DIVIDER));
     setSpeedManager(new DefaultSpeedManager());
-    setOvershootManager(new DefaultOvershootManager(new Random()));
+    setOvershootManager(new DefaultOvershootManager());
     setEffectFadeSteps(EFFECT_FADE_STEPS);
     setMinSteps(MIN_STEPS);
     setMouseInfo(mouseInfoAccessor);
     setReactionTimeBaseMs(REACTION_TIME_BASE_MS);
     setReactionTimeVariationMs(REACTION_TIME_VARIATION_MS);
     setTimeToStepsDivider(TIME_TO_STEPS_DIVIDER);
+    setWaitStrategy(new SleepWaitStrategy());
+    setCatchUpPolicy(CatchUpPolicy.EXECUTE_ALL);
+    setLagStatistics(new LagStatistics());
+    setStepProfileCache(new StepProfileCache());
   }
 
   public DefaultMouseMotionNature() {
@@ -7,6 +7,7 @@ import java.util.Random;
 public class DefaultNoiseProvider implements NoiseProvider {
   public static final double DEFAULT_NOISINESS_DIVIDER = 2;
   private static final double SMALL_DELTA = 10e-6;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
   private final double noisinessDivider;
 
   /**
@@ -18,9 +19,20 @@ public class DefaultNoiseProvider implements NoiseProvider {
 
   @Override
   public DoublePoint getNoise(Random random, double xStepSize, double yStepSize) {
-    if (Math.abs(xStepSize - 0) < SMALL_DELTA && Math.abs(yStepSize - 0) < SMALL_DELTA) {
+    MutableDoublePoint result = new MutableDoublePoint();
+    getNoise(random, xStepSize, yStepSize, result);
+    if (result.getX() == 0 && result.getY() == 0) {
       return DoublePoint.ZERO;
     }
+    return new DoublePoint(result.getX(), result.getY());
+  }
+
+  @Override
+  public void getNoise(Random random, double xStepSize, double yStepSize, MutableDoublePoint result) {
+    if (Math.abs(xStepSize - 0) < SMALL_DELTA && Math.abs(yStepSize - 0) < SMALL_DELTA) {
+      result.setLocation(0, 0);
+      return;
+    }
     double noiseX = 0;
     double noiseY = 0;
     double stepSize = Math.hypot(xStepSize, yStepSize);
@@ -29,6 +41,47 @@ public class DefaultNoiseProvider implements NoiseProvider {
       noiseX = (random.nextDouble() - 0.5) * Math.max(0, (8 - stepSize)) / noisinessDivider;
       noiseY = (random.nextDouble() - 0.5) * Math.max(0, (8 - stepSize)) / noisinessDivider;
     }
-    return new DoublePoint(noiseX, noiseY);
+    result.setLocation(noiseX, noiseY);
+  }
+
+  /**
+   * Same distribution as step by step, but the random is only used to seed a SplitMix64 generator
+   * which is advanced without synchronization or virtual calls, and the distance of the step is
+   * derived from the distance of the movement instead of computed for every step.
+   */
+  @Override
+  public void getNoise(Random random, double[] stepFractions, double xDistance, double yDistance,
+                       double[] xNoise, double[] yNoise) {
+    long state = random.nextLong();
+    double distance = Math.hypot(xDistance, yDistance);
+    for (int i = 0; i < stepFractions.length; i++) {
+      double xStepSize = stepFractions[i] * xDistance;
+      double yStepSize = stepFractions[i] * yDistance;
+      xNoise[i] = 0;
+      yNoise[i] = 0;
+      if (Math.abs(xStepSize - 0) < SMALL_DELTA && Math.abs(yStepSize - 0) < SMALL_DELTA) {
+        continue;
+      }
+      double amplitude = Math.max(0, (8 - Math.abs(stepFractions[i]) * distance));
+      if (amplitude == 0) {
+        continue;
+      }
+      state += GOLDEN_GAMMA;
+      if (toDouble(state) < amplitude / 50) {
+        state += GOLDEN_GAMMA;
+        xNoise[i] = (toDouble(state) - 0.5) * amplitude / noisinessDivider;
+        state += GOLDEN_GAMMA;
+        yNoise[i] = (toDouble(state) - 0.5) * amplitude / noisinessDivider;
+      }
+    }
+  }
+
+  // SplitMix64 output of the state as a value from 0 (inclusive) to 1 (exclusive).
+  private static double toDouble(long state) {
+    long z = state;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    z = z ^ (z >>> 31);
+    return (z >>> 11) * 0x1.0p-53;
   }
 }
@@ -4,6 +4,7 @@ import com.github.joonasvali.naturalmouse.api.OvershootManager;
 
 import java.awt.*;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class DefaultOvershootManager implements OvershootManager {
   public static final double OVERSHOOT_SPEEDUP_DIVIDER = 1.8;
@@ -17,8 +18,19 @@ public class DefaultOvershootManager implements OvershootManager {
   private double overshootRandomModifierDivider  = OVERSHOOT_RANDOM_MODIFIER_DIVIDER;
   private double overshootSpeedupDivider = OVERSHOOT_SPEEDUP_DIVIDER;
   private int overshoots = DEFAULT_OVERSHOOT_AMOUNT;
+  // When null, the random of the motion or the random of the current thread is used.
   private final Random random;
 
+  /**
+   * Creates a manager which uses ThreadLocalRandom, so it can be shared between threads without contention.
+   */
+  public DefaultOvershootManager() {
+    this(null);
+  }
+
+  /**
+   * @param random the random used for the overshoot amounts
+   */
   public DefaultOvershootManager(Random random) {
     this.random = random;
   }
@@ -31,12 +43,31 @@ public class DefaultOvershootManager implements OvershootManager {
     return overshoots;
   }
 
+  @Override
+  public int getOvershoots(Flow flow, long mouseMovementMs, double distance, double targetSize) {
+    // The first overshoot is the farthest, if even that can't miss the target, overshooting is pointless.
+    if (distance / overshootRandomModifierDivider / 2 * overshoots < targetSize / 2) {
+      return 0;
+    }
+    return getOvershoots(flow, mouseMovementMs, distance);
+  }
+
   @Override
   public Point getOvershootAmount(double distanceToRealTargetX, double distanceToRealTargetY, long mouseMovementMs, int overshootsRemaining) {
+    return getOvershootAmount(
+        ThreadLocalRandom.current(), distanceToRealTargetX, distanceToRealTargetY, mouseMovementMs, overshootsRemaining
+    );
+  }
+
+  @Override
+  public Point getOvershootAmount(Random motionRandom, double distanceToRealTargetX, double distanceToRealTargetY,
+                                  long mouseMovementMs, int overshootsRemaining) {
     double distanceToRealTarget = Math.hypot(distanceToRealTargetX, distanceToRealTargetY);
 
     double randomModifier = distanceToRealTarget / overshootRandomModifierDivider;
     //double speedPixelsPerSecond = distanceToRealTarget / mouseMovementMs * 1000; // TODO utilize speed
+    // The random given in the constructor takes precedence.
+    Random random = this.random != null ? this.random : motionRandom;
     int x = (int)(random.nextDouble() * randomModifier - randomModifier / 2d) * overshootsRemaining;
     int y = (int)(random.nextDouble() * randomModifier - randomModifier / 2d) * overshootsRemaining;
     return new Point(x, y);
@@ -8,17 +8,56 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
 public class DefaultSpeedManager implements SpeedManager {
   private static final double SMALL_DELTA = 10e-6;
   private final List<Flow> flows = new ArrayList<>();
+  // Number of zero buckets in each flow, counted once instead of on every call.
+  private final int[] zeroBuckets;
+  // When null, the random of the motion or the random of the current thread is used.
+  private final Random random;
   private long mouseMovementTimeMs = 500;
 
-  public DefaultSpeedManager(Collection<Flow> flows) {
+  /**
+   * @param flows the flows to choose from
+   * @param random the random used for choosing the flow and the time
+   */
+  public DefaultSpeedManager(Collection<Flow> flows, Random random) {
     this.flows.addAll(flows);
+    this.random = random;
+    this.zeroBuckets = new int[this.flows.size()];
+    for (int i = 0; i < zeroBuckets.length; i++) {
+      for (double bucket : this.flows.get(i).getFlowCharacteristics()) {
+        if (Math.abs(bucket - 0) < SMALL_DELTA) {
+          zeroBuckets[i]++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a manager which uses ThreadLocalRandom, so it can be shared between threads without contention.
+   * @param flows the flows to choose from
+   */
+  public DefaultSpeedManager(Collection<Flow> flows) {
+    this(flows, null);
+  }
+
+  /**
+   * @param random the random used for choosing the flow and the time
+   */
+  public DefaultSpeedManager(Random random) {
+    this(defaultFlows(), random);
   }
 
   public DefaultSpeedManager() {
-    this(Arrays.asList(
+    this(defaultFlows());
+  }
+
+  private static List<Flow> defaultFlows() {
+    return Arrays.asList(
         new Flow(FlowTemplates.constantSpeed()),
         new Flow(FlowTemplates.variatingFlow()),
         new Flow(FlowTemplates.interruptedFlow()),
@@ -28,22 +67,26 @@ public class DefaultSpeedManager implements SpeedManager {
         new Flow(FlowTemplates.adjustingFlow()),
         new Flow(FlowTemplates.jaggedFlow()),
         new Flow(FlowTemplates.stoppingFlow())
-    ));
+    );
   }
 
   @Override
   public Pair<Flow, Long> getFlowWithTime(double distance) {
-    double time = mouseMovementTimeMs + (long)(Math.random() * mouseMovementTimeMs);
-    Flow flow = flows.get((int) (Math.random() * flows.size()));
+    return getFlowWithTime(ThreadLocalRandom.current(), distance);
+  }
+
+  @Override
+  public Pair<Flow, Long> getFlowWithTime(Random motionRandom, double distance) {
+    // The random given in the constructor takes precedence.
+    Random random = this.random != null ? this.random : motionRandom;
+    double time = mouseMovementTimeMs + (long)(random.nextDouble() * mouseMovementTimeMs);
+    int index = random.nextInt(flows.size());
+    Flow flow = flows.get(index);
 
     // Let's ignore waiting time, e.g 0's in flow, by increasing the total time
     // by the amount of 0's there are in the flow multiplied by the time each bucket represents.
     double timePerBucket = time / (double)flow.getFlowCharacteristics().length;
-    for (double bucket : flow.getFlowCharacteristics()) {
-      if (Math.abs(bucket - 0) < SMALL_DELTA) {
-        time += timePerBucket;
-      }
-    }
+    time += timePerBucket * zeroBuckets[index];
 
     return new Pair<>(flow, (long)time);
   }
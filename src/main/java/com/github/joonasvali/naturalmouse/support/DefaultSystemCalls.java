@@ -16,6 +16,11 @@ public class DefaultSystemCalls implements SystemCalls {
     return System.currentTimeMillis();
   }
 
+  @Override
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+
   @Override
   public void sleep(long time) throws InterruptedException {
     Thread.sleep(time);
@@ -0,0 +1,98 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.SpeedManager;
+import com.github.joonasvali.naturalmouse.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SpeedManager where the movement time follows Fitts' law: a + b * log2(distance / width + 1).
+ * Short movements are quick and the time grows only logarithmically with the distance, like with a real
+ * user, while DefaultSpeedManager uses the same time range for every distance.
+ *
+ * The coefficients describe the user: a is the reaction and start/stop overhead in ms, b is the time in ms
+ * per bit of difficulty and width is the assumed size of the target in pixels.
+ */
+public class FittsLawSpeedManager implements SpeedManager {
+  public static final double DEFAULT_INTERCEPT_MS = 50;
+  public static final double DEFAULT_SLOPE_MS = 100;
+  public static final double DEFAULT_TARGET_WIDTH_PX = 20;
+  public static final double DEFAULT_TIME_VARIATION = 0.3;
+  private static final double SMALL_DELTA = 10e-6;
+  private final List<Flow> flows = new ArrayList<>();
+  // Number of zero buckets in each flow.
+  private final int[] zeroBuckets;
+  private final double interceptMs;
+  private final double slopeMs;
+  private final double targetWidthPx;
+  private final double timeVariation;
+  // When null, the random of the motion or the random of the current thread is used.
+  private final Random random;
+
+  public FittsLawSpeedManager(Collection<Flow> flows) {
+    this(flows, DEFAULT_INTERCEPT_MS, DEFAULT_SLOPE_MS, DEFAULT_TARGET_WIDTH_PX, DEFAULT_TIME_VARIATION, null);
+  }
+
+  /**
+   * @param flows the flows to choose from
+   * @param interceptMs the coefficient a, time in ms which every movement takes regardless of the distance
+   * @param slopeMs the coefficient b, time in ms per bit of difficulty
+   * @param targetWidthPx the assumed width of the target in pixels
+   * @param timeVariation the time is randomly increased by up to this fraction, e.g 0.3 for 0-30%
+   * @param random the random used for choosing the flow and the time, or null to use the random of the motion
+   */
+  public FittsLawSpeedManager(Collection<Flow> flows, double interceptMs, double slopeMs, double targetWidthPx,
+                              double timeVariation, Random random) {
+    if (flows.isEmpty()) {
+      throw new IllegalArgumentException("At least one flow is required");
+    }
+    if (targetWidthPx <= 0) {
+      throw new IllegalArgumentException("Invalid target width: " + targetWidthPx);
+    }
+    this.flows.addAll(flows);
+    this.interceptMs = interceptMs;
+    this.slopeMs = slopeMs;
+    this.targetWidthPx = targetWidthPx;
+    this.timeVariation = timeVariation;
+    this.random = random;
+    this.zeroBuckets = new int[this.flows.size()];
+    for (int i = 0; i < zeroBuckets.length; i++) {
+      for (double bucket : this.flows.get(i).getFlowCharacteristics()) {
+        if (Math.abs(bucket - 0) < SMALL_DELTA) {
+          zeroBuckets[i]++;
+        }
+      }
+    }
+  }
+
+  @Override
+  public Pair<Flow, Long> getFlowWithTime(double distance) {
+    return getFlowWithTime(ThreadLocalRandom.current(), distance);
+  }
+
+  @Override
+  public Pair<Flow, Long> getFlowWithTime(Random motionRandom, double distance) {
+    Random random = this.random != null ? this.random : motionRandom;
+    double time = getMovementTimeMs(distance) * (1 + random.nextDouble() * timeVariation);
+    int index = random.nextInt(flows.size());
+    Flow flow = flows.get(index);
+
+    // Same as in DefaultSpeedManager, the time spent in 0-buckets is added on top of the moving time.
+    double timePerBucket = time / (double) flow.getFlowCharacteristics().length;
+    time += timePerBucket * zeroBuckets[index];
+    return new Pair<>(flow, (long) time);
+  }
+
+  /**
+   * @param distance the distance of the movement in pixels
+   * @return the movement time in ms predicted by Fitts' law, without the random variation
+   */
+  public double getMovementTimeMs(double distance) {
+    double indexOfDifficulty = Math.log(Math.max(0, distance) / targetWidthPx + 1) / Math.log(2);
+    return Math.max(0, interceptMs + slopeMs * indexOfDifficulty);
+  }
+}
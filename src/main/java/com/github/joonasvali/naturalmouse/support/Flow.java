@@ -9,6 +9,8 @@ public class Flow {
   private static final int AVERAGE_BUCKET_VALUE = 100;
 
   private final double[] buckets;
+  // prefixSums[i] contains the sum of buckets before index i, so it has buckets.length + 1 elements.
+  private final double[] prefixSums;
 
   /**
    * @param characteristics the characteristics array, which can be any size, contain non-negative numbers.
@@ -21,6 +23,10 @@ public class Flow {
    */
   public Flow(double[] characteristics) {
     buckets = normalizeBuckets(characteristics);
+    prefixSums = new double[buckets.length + 1];
+    for (int i = 0; i < buckets.length; i++) {
+      prefixSums[i + 1] = prefixSums[i] + buckets[i];
+    }
   }
 
   /**
@@ -71,6 +77,19 @@ public class Flow {
    * @return the step size which should be taken next
    */
   public double getStepSize(double distance, int steps, double completion) {
+    return getStepFraction(steps, completion) * distance;
+  }
+
+  /**
+   * Returns the fraction of the total distance which is travelled during the step. The fraction is
+   * the same for both axes, so step sizes for x and y can be found by multiplying it with the distance on
+   * corresponding axis.
+   *
+   * @param steps number of steps the current movement involves
+   * @param completion value between 0 and 1, the value describes movement completion in time
+   * @return the fraction of the total distance which should be travelled next, value from 0...1
+   */
+  public double getStepFraction(int steps, double completion) {
     // This is essentially how big is a single completion step,
     // so we can expect next 'completion' is current completion + completionStep
     double completionStep = 1d / steps;
@@ -80,13 +99,24 @@ public class Flow {
     double bucketUntil = ((completion + completionStep) * buckets.length);
 
     double bucketContents = getBucketsContents(bucketFrom, bucketUntil);
-    // This shows how much distance is assigned to single contents value in the buckets.
-    // For example if this gets assigned to 0.4, then for every value in the bucket
-    // the cursor needs to travel 0.4 pixels, so for a bucket containing 50, the mouse
-    // travelling distance is 0.4 * 50 = 20pixels
-    double distancePerBucketContent = distance / (buckets.length * AVERAGE_BUCKET_VALUE);
+    // Buckets contain buckets.length * AVERAGE_BUCKET_VALUE in total, which corresponds to the whole distance.
+    return bucketContents / (buckets.length * AVERAGE_BUCKET_VALUE);
+  }
 
-    return bucketContents * distancePerBucketContent;
+  /**
+   * Returns the fractions of the total distance travelled during each step of a movement, the same values
+   * {@link #getStepFraction(int, double)} returns for completions 0, 1 / steps, ..., (steps - 1) / steps.
+   *
+   * @param steps number of steps the current movement involves
+   * @return new array of steps elements, which sum up to 1 within floating point error
+   * @see StepProfileCache
+   */
+  public double[] getStepFractions(int steps) {
+    double[] fractions = new double[steps];
+    for (int i = 0; i < steps; i++) {
+      fractions[i] = getStepFraction(steps, i / (double) steps);
+    }
+    return fractions;
   }
 
   /**
@@ -100,21 +130,20 @@ public class Flow {
    * @return the sum of the contents in the buckets
    */
   private double getBucketsContents(double bucketFrom, double bucketUntil) {
-    double sum = 0;
-    for (int i = (int)bucketFrom; i < bucketUntil; i++) {
-      double value = buckets[i];
-      double endMultiplier = 1;
-      double startMultiplier = 0;
-      if (bucketUntil < i+1) {
-        endMultiplier = bucketUntil - (int)bucketUntil;
-      }
-      if ((int)bucketFrom == i) {
-        startMultiplier = bucketFrom - (int)bucketFrom;
-      }
-      value *= endMultiplier - startMultiplier;
-      sum += value;
-    }
+    return getContentsUntil(bucketUntil) - getContentsUntil(bucketFrom);
+  }
 
-    return sum;
+  /**
+   * Sum of the bucket contents from the beginning until the position, where the last bucket
+   * is counted partially if position has decimal places. Constant time lookup from the prefix sums.
+   * @param position the bucket position, from 0 to buckets.length
+   * @return the sum of the contents before the position
+   */
+  private double getContentsUntil(double position) {
+    int bucket = (int) position;
+    if (bucket >= buckets.length) {
+      return prefixSums[buckets.length];
+    }
+    return prefixSums[bucket] + buckets[bucket] * (position - bucket);
   }
 }
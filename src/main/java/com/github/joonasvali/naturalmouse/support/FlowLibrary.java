@@ -0,0 +1,292 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Large, immutable collection of flows, each with the distance and the time of the movement it was recorded for.
+ * The buckets are stored quantized to 16 bits, and when the library is read from a file, they stay in the
+ * memory mapped file, so thousands of flows take little heap. A Flow object is created only when a flow is
+ * used, and only the least recently used flows up to the maximum cached flows are kept, so the heap used
+ * stays bounded regardless of the size of the library.
+ *
+ * The metadata of every flow, such as the number of zero buckets, is computed when the library is loaded.
+ *
+ * @see FlowLibrarySpeedManager
+ */
+public class FlowLibrary {
+  public static final int DEFAULT_MAXIMUM_CACHED_FLOWS = 256;
+  private static final int MAGIC = 0x4E4D464C; // "NMFL"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int QUANTIZATION_MAX = 0xFFFF;
+  // Unsigned 16-bit buckets of all flows one after another.
+  private final ShortBuffer buckets;
+  // offsets[i] is the index of the first bucket of flow i, so it has size() + 1 elements.
+  private final int[] offsets;
+  private final float[] distances;
+  private final int[] timesMs;
+  private final int[] zeroBuckets;
+  private final Map<Integer, Flow> flows;
+
+  private FlowLibrary(ShortBuffer buckets, int[] offsets, float[] distances, int[] timesMs,
+                      int maximumCachedFlows) {
+    if (maximumCachedFlows < 1) {
+      throw new IllegalArgumentException("Invalid maximum cached flows: " + maximumCachedFlows);
+    }
+    this.buckets = buckets;
+    this.offsets = offsets;
+    this.distances = distances;
+    this.timesMs = timesMs;
+    this.flows = new LinkedHashMap<Integer, Flow>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Flow> eldest) {
+        return size() > maximumCachedFlows;
+      }
+    };
+    this.zeroBuckets = new int[distances.length];
+    for (int i = 0; i < distances.length; i++) {
+      for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+        if (buckets.get(j) == 0) {
+          zeroBuckets[i]++;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the number of flows in the library
+   */
+  public int size() {
+    return distances.length;
+  }
+
+  /**
+   * @param index the index of the flow
+   * @return the flow, created from the buckets if it's not among the recently used flows
+   */
+  public Flow getFlow(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Flow " + index + " of " + size());
+    }
+    Flow flow;
+    synchronized (flows) {
+      flow = flows.get(index);
+    }
+    if (flow != null) {
+      return flow;
+    }
+    // Decoded without holding the lock, Flow is immutable, so a concurrent duplicate creation is harmless.
+    double[] characteristics = new double[getBucketCount(index)];
+    for (int i = 0; i < characteristics.length; i++) {
+      characteristics[i] = buckets.get(offsets[index] + i) & QUANTIZATION_MAX;
+    }
+    flow = new Flow(characteristics);
+    synchronized (flows) {
+      flows.put(index, flow);
+    }
+    return flow;
+  }
+
+  /**
+   * @param index the index of the flow
+   * @return the distance in pixels of the movement the flow was recorded for
+   */
+  public double getDistance(int index) {
+    return distances[index];
+  }
+
+  /**
+   * @param index the index of the flow
+   * @return the time in ms of the movement the flow was recorded for
+   */
+  public long getTimeMs(int index) {
+    return timesMs[index];
+  }
+
+  /**
+   * @param index the index of the flow
+   * @return the number of buckets in the flow
+   */
+  public int getBucketCount(int index) {
+    return offsets[index + 1] - offsets[index];
+  }
+
+  /**
+   * @param index the index of the flow
+   * @return the number of buckets in the flow where the cursor doesn't move
+   */
+  public int getZeroBuckets(int index) {
+    return zeroBuckets[index];
+  }
+
+  /**
+   * Writes the library into a file, which can be read with {@link #read(Path)}.
+   * @param path the file
+   * @throws IOException when writing fails
+   */
+  public void write(Path path) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(size());
+      out.writeInt(offsets[size()]);
+      for (float distance : distances) {
+        out.writeFloat(distance);
+      }
+      for (int time : timesMs) {
+        out.writeInt(time);
+      }
+      for (int offset : offsets) {
+        out.writeInt(offset);
+      }
+      for (int i = 0; i < offsets[size()]; i++) {
+        out.writeShort(buckets.get(i));
+      }
+    }
+  }
+
+  /**
+   * Reads a library written by {@link #write(Path)}. The file is memory mapped, only the metadata of the flows
+   * is copied to heap.
+   * @param path the file
+   * @return the library
+   * @throws IOException when the file can't be read or is not a flow library
+   */
+  public static FlowLibrary read(Path path) throws IOException {
+    return read(path, DEFAULT_MAXIMUM_CACHED_FLOWS);
+  }
+
+  /**
+   * Reads a library written by {@link #write(Path)}, see {@link #read(Path)}.
+   * @param path the file
+   * @param maximumCachedFlows the maximum number of Flow objects kept in heap
+   * @return the library
+   * @throws IOException when the file can't be read or is not a flow library
+   */
+  public static FlowLibrary read(Path path, int maximumCachedFlows) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed.
+      MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (channel.size() < HEADER_SIZE || map.getInt(0) != MAGIC) {
+        throw new IOException("Not a flow library: " + path);
+      }
+      if (map.getInt(4) != VERSION) {
+        throw new IOException("Unsupported flow library version " + map.getInt(4) + ": " + path);
+      }
+      int count = map.getInt(8);
+      int bucketCount = map.getInt(12);
+      int position = HEADER_SIZE;
+      float[] distances = new float[count];
+      for (int i = 0; i < count; i++, position += 4) {
+        distances[i] = map.getFloat(position);
+      }
+      int[] timesMs = new int[count];
+      for (int i = 0; i < count; i++, position += 4) {
+        timesMs[i] = map.getInt(position);
+      }
+      int[] offsets = new int[count + 1];
+      for (int i = 0; i <= count; i++, position += 4) {
+        offsets[i] = map.getInt(position);
+      }
+      // Called through Buffer and ByteBuffer, newer JDKs compile the calls on MappedByteBuffer to covariant
+      // overrides which don't exist on Java 8.
+      ((Buffer) map).position(position);
+      ShortBuffer buckets = ((ByteBuffer) map).slice().asShortBuffer();
+      if (buckets.capacity() < bucketCount) {
+        throw new IOException("Truncated flow library: " + path);
+      }
+      return new FlowLibrary(buckets, offsets, distances, timesMs, maximumCachedFlows);
+    }
+  }
+
+  /**
+   * Collects flows for a FlowLibrary.
+   */
+  public static class Builder {
+    private short[] buckets = new short[1024];
+    private int[] offsets = new int[64];
+    private float[] distances = new float[64];
+    private int[] timesMs = new int[64];
+    private int size;
+    private int maximumCachedFlows = DEFAULT_MAXIMUM_CACHED_FLOWS;
+
+    /**
+     * @param characteristics the flow characteristics, see {@link Flow#Flow(double[])}
+     * @param distance the distance in pixels of the movement the flow was recorded for
+     * @param timeMs the time in ms of the movement the flow was recorded for
+     * @return this builder
+     */
+    public Builder addFlow(double[] characteristics, double distance, long timeMs) {
+      double max = 0;
+      for (int i = 0; i < characteristics.length; i++) {
+        if (characteristics[i] < 0) {
+          throw new IllegalArgumentException("Invalid FlowCharacteristics at [" + i + "] : " + characteristics[i]);
+        }
+        max = Math.max(max, characteristics[i]);
+      }
+      if (max == 0) {
+        throw new IllegalArgumentException("Invalid FlowCharacteristics. All array elements can't be 0.");
+      }
+      if (size + 1 >= offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        distances = Arrays.copyOf(distances, distances.length * 2);
+        timesMs = Arrays.copyOf(timesMs, timesMs.length * 2);
+      }
+      int start = offsets[size];
+      if (start + characteristics.length > buckets.length) {
+        buckets = Arrays.copyOf(buckets, Math.max(buckets.length * 2, start + characteristics.length));
+      }
+      for (int i = 0; i < characteristics.length; i++) {
+        // Only the relative values matter in a flow, so they are scaled to the full 16-bit range.
+        buckets[start + i] = (short) Math.round(characteristics[i] / max * QUANTIZATION_MAX);
+      }
+      distances[size] = (float) distance;
+      timesMs[size] = (int) timeMs;
+      offsets[size + 1] = start + characteristics.length;
+      size++;
+      return this;
+    }
+
+    /**
+     * @param flow the flow
+     * @param distance the distance in pixels of the movement the flow was recorded for
+     * @param timeMs the time in ms of the movement the flow was recorded for
+     * @return this builder
+     */
+    public Builder addFlow(Flow flow, double distance, long timeMs) {
+      return addFlow(flow.getFlowCharacteristics(), distance, timeMs);
+    }
+
+    /**
+     * @param maximumCachedFlows the maximum number of Flow objects the library keeps in heap
+     * @return this builder
+     */
+    public Builder setMaximumCachedFlows(int maximumCachedFlows) {
+      this.maximumCachedFlows = maximumCachedFlows;
+      return this;
+    }
+
+    public FlowLibrary build() {
+      return new FlowLibrary(
+          ShortBuffer.wrap(Arrays.copyOf(buckets, offsets[size])),
+          Arrays.copyOf(offsets, size + 1),
+          Arrays.copyOf(distances, size),
+          Arrays.copyOf(timesMs, size),
+          maximumCachedFlows
+      );
+    }
+  }
+}
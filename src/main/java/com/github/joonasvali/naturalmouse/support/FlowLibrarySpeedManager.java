@@ -0,0 +1,108 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.SpeedManager;
+import com.github.joonasvali.naturalmouse.util.Pair;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SpeedManager choosing from the flows of a FlowLibrary which were recorded for a similar distance.
+ * The flows are indexed into distance bins when the manager is created, so a lookup takes constant time
+ * regardless of the size of the library. Bins without any flows use the flows of the nearest non-empty bin.
+ *
+ * The time of the movement is the time recorded with the chosen flow. Same as in DefaultSpeedManager, the time
+ * spent in the 0-buckets of the flow is added on top of it, using the counts precomputed by the library.
+ */
+public class FlowLibrarySpeedManager implements SpeedManager {
+  public static final double DEFAULT_BIN_WIDTH_PX = 25;
+  private final FlowLibrary library;
+  private final double binWidthPx;
+  // bins[i] contains the indices of the flows with distance in [i * binWidthPx, (i + 1) * binWidthPx)
+  private final int[][] bins;
+  // When null, the random of the motion or the random of the current thread is used.
+  private final Random random;
+
+  public FlowLibrarySpeedManager(FlowLibrary library) {
+    this(library, DEFAULT_BIN_WIDTH_PX, null);
+  }
+
+  /**
+   * @param library the flows
+   * @param binWidthPx the width of a distance bin in pixels
+   * @param random the random used for choosing the flow, or null to use the random of the motion
+   */
+  public FlowLibrarySpeedManager(FlowLibrary library, double binWidthPx, Random random) {
+    if (library.size() == 0) {
+      throw new IllegalArgumentException("Flow library is empty");
+    }
+    if (binWidthPx <= 0) {
+      throw new IllegalArgumentException("Invalid bin width: " + binWidthPx);
+    }
+    this.library = library;
+    this.binWidthPx = binWidthPx;
+    this.random = random;
+    this.bins = createBins();
+  }
+
+  @Override
+  public Pair<Flow, Long> getFlowWithTime(double distance) {
+    return getFlowWithTime(ThreadLocalRandom.current(), distance);
+  }
+
+  @Override
+  public Pair<Flow, Long> getFlowWithTime(Random motionRandom, double distance) {
+    Random random = this.random != null ? this.random : motionRandom;
+    int[] bin = bins[getBin(distance)];
+    int index = bin[random.nextInt(bin.length)];
+    long time = library.getTimeMs(index);
+    double timePerBucket = time / (double) library.getBucketCount(index);
+    time += (long) (timePerBucket * library.getZeroBuckets(index));
+    return new Pair<>(library.getFlow(index), time);
+  }
+
+  public FlowLibrary getLibrary() {
+    return library;
+  }
+
+  private int getBin(double distance) {
+    return (int) Math.max(0, Math.min(bins.length - 1, distance / binWidthPx));
+  }
+
+  private int[][] createBins() {
+    double maxDistance = 0;
+    for (int i = 0; i < library.size(); i++) {
+      maxDistance = Math.max(maxDistance, library.getDistance(i));
+    }
+    int[][] bins = new int[(int) (maxDistance / binWidthPx) + 1][];
+    int[] counts = new int[bins.length];
+    for (int i = 0; i < library.size(); i++) {
+      counts[binOf(library.getDistance(i))]++;
+    }
+    for (int i = 0; i < bins.length; i++) {
+      bins[i] = new int[counts[i]];
+      counts[i] = 0;
+    }
+    for (int i = 0; i < library.size(); i++) {
+      int bin = binOf(library.getDistance(i));
+      bins[bin][counts[bin]++] = i;
+    }
+
+    // Empty bins share the flows of the nearest non-empty bin, preferring the shorter distance on a tie.
+    int[][] filled = bins.clone();
+    for (int i = 0; i < bins.length; i++) {
+      for (int d = 1; filled[i].length == 0; d++) {
+        if (i - d >= 0 && bins[i - d].length > 0) {
+          filled[i] = bins[i - d];
+        } else if (i + d < bins.length && bins[i + d].length > 0) {
+          filled[i] = bins[i + d];
+        }
+      }
+    }
+    return filled;
+  }
+
+  private int binOf(double distance) {
+    return (int) Math.max(0, distance / binWidthPx);
+  }
+}
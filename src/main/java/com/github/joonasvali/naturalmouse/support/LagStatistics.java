@@ -0,0 +1,80 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many steps of the motions were executed behind the schedule and by how much.
+ * The counters can be updated from many threads at once.
+ *
+ * @see CatchUpPolicy
+ */
+public class LagStatistics {
+  private final LongAdder steps = new LongAdder();
+  private final LongAdder lateSteps = new LongAdder();
+  private final LongAdder skippedSteps = new LongAdder();
+  private final LongAdder latenessNanos = new LongAdder();
+  private final LongAccumulator maxLatenessNanos = new LongAccumulator(Math::max, 0);
+
+  public void recordStep() {
+    steps.increment();
+  }
+
+  /**
+   * @param latenessNanos how much the step was behind the schedule
+   */
+  public void recordLateStep(long latenessNanos) {
+    lateSteps.increment();
+    this.latenessNanos.add(latenessNanos);
+    maxLatenessNanos.accumulate(latenessNanos);
+  }
+
+  public void recordSkippedStep() {
+    skippedSteps.increment();
+  }
+
+  /**
+   * @return the number of steps which were waited for, including the late ones but not the skipped ones
+   */
+  public long getSteps() {
+    return steps.sum();
+  }
+
+  public long getLateSteps() {
+    return lateSteps.sum();
+  }
+
+  public long getSkippedSteps() {
+    return skippedSteps.sum();
+  }
+
+  /**
+   * @return the sum of lateness of all late steps in ns
+   */
+  public long getTotalLatenessNanos() {
+    return latenessNanos.sum();
+  }
+
+  public long getMaxLatenessNanos() {
+    return maxLatenessNanos.get();
+  }
+
+  public void reset() {
+    steps.reset();
+    lateSteps.reset();
+    skippedSteps.reset();
+    latenessNanos.reset();
+    maxLatenessNanos.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "LagStatistics{" +
+        "steps=" + getSteps() +
+        ", lateSteps=" + getLateSteps() +
+        ", skippedSteps=" + getSkippedSteps() +
+        ", totalLatenessNanos=" + getTotalLatenessNanos() +
+        ", maxLatenessNanos=" + getMaxLatenessNanos() +
+        '}';
+  }
+}
@@ -6,20 +6,35 @@ import com.github.joonasvali.naturalmouse.api.NoiseProvider;
 import com.github.joonasvali.naturalmouse.api.OvershootManager;
 import com.github.joonasvali.naturalmouse.api.SpeedManager;
 import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryCache;
 
+/**
+ * Holds the configuration of mouse motions. The values are read when a MouseMotion is built, so changes
+ * affect only the motions built afterwards. The fields are volatile, so a change made on one thread is
+ * seen by the motions built on other threads, but the components themselves (e.g. the SpeedManager)
+ * must be thread safe if the nature is shared between threads.
+ */
 public class MouseMotionNature {
-  private double timeToStepsDivider;
-  private int minSteps;
+  private volatile double timeToStepsDivider;
+  private volatile double stepRateHz;
+  private volatile int minSteps;
 
-  private int effectFadeSteps;
-  private int reactionTimeBaseMs;
-  private int reactionTimeVariationMs;
-  private DeviationProvider deviationProvider;
-  private NoiseProvider noiseProvider;
-  private OvershootManager overshootManager;
-  private MouseInfoAccessor mouseInfo;
-  private SystemCalls systemCalls;
-  private SpeedManager speedManager;
+  private volatile int effectFadeSteps;
+  private volatile int reactionTimeBaseMs;
+  private volatile int reactionTimeVariationMs;
+  private volatile DeviationProvider deviationProvider;
+  private volatile NoiseProvider noiseProvider;
+  private volatile OvershootManager overshootManager;
+  private volatile MouseInfoAccessor mouseInfo;
+  private volatile SystemCalls systemCalls;
+  private volatile SpeedManager speedManager;
+  private volatile WaitStrategy waitStrategy;
+  private volatile TrajectoryCache trajectoryCache;
+  private volatile CatchUpPolicy catchUpPolicy;
+  private volatile LagStatistics lagStatistics;
+  private volatile PositionTracker positionTracker;
+  private volatile StepProfileCache stepProfileCache;
 
   /**
    * Time to steps is how NaturalMouseMotion calculates how many locations need to be visited between
@@ -42,6 +57,29 @@ public class MouseMotionNature {
     this.timeToStepsDivider = timeToStepsDivider;
   }
 
+  /**
+   * Get the frequency of the steps, see {@link #setStepRateHz(double)}.
+   * @return the steps per second, or 0 if the step count comes from timeToStepsDivider and minSteps
+   */
+  public double getStepRateHz() {
+    return stepRateHz;
+  }
+
+  /**
+   * Set a fixed frequency for the steps, e.g. the refresh rate of the display (60, 144 Hz) or the polling rate
+   * of the emulated mouse (125, 500, 1000 Hz). The steps are then timed on a grid of that frequency and
+   * positions which nobody could observe between the ticks are not sent. timeToStepsDivider and minSteps are
+   * not used then. As every movement starts on a tick, a movement may start up to one tick later than planned.
+   * The time between the ticks is rounded to whole nanoseconds.
+   * @param stepRateHz the steps per second, or 0 to use timeToStepsDivider and minSteps
+   */
+  public void setStepRateHz(double stepRateHz) {
+    if (stepRateHz < 0) {
+      throw new IllegalArgumentException("Invalid step rate: " + stepRateHz);
+    }
+    this.stepRateHz = stepRateHz;
+  }
+
   /**
    * Minimum amount of steps that is taken to reach the target, this is used when calculation otherwise would
    * lead to too few steps for smooth mouse movement, which can happen for very fast movements.
@@ -227,4 +265,107 @@ public class MouseMotionNature {
   public void setOvershootManager(OvershootManager overshootManager) {
     this.overshootManager = overshootManager;
   }
+
+  /**
+   * Get the strategy which is used to wait between the steps of the movement until next step is due.
+   * @return the strategy
+   */
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  /**
+   * Set the strategy which is used to wait between the steps of the movement until next step is due.
+   * Sleeping is the least precise, but cheapest option, for high step rates parking or spinning can be used.
+   * @param waitStrategy the strategy
+   */
+  public void setWaitStrategy(WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy;
+  }
+
+  /**
+   * Get the cache of precomputed trajectories used when a MouseMotion is planned ahead.
+   * @return the cache or null if trajectories are not cached
+   */
+  public TrajectoryCache getTrajectoryCache() {
+    return trajectoryCache;
+  }
+
+  /**
+   * Set the cache of precomputed trajectories. When set, MouseMotion.plan() and moveAsync() reuse the cached
+   * trajectories for repeated displacements instead of planning every motion from scratch.
+   * The blocking move() corrects the cursor between movements, so it always plans the movements itself.
+   * @param trajectoryCache the cache or null to disable caching
+   */
+  public void setTrajectoryCache(TrajectoryCache trajectoryCache) {
+    this.trajectoryCache = trajectoryCache;
+  }
+
+  /**
+   * Get the policy which defines what is done when the steps fall behind the schedule.
+   * @return the policy
+   */
+  public CatchUpPolicy getCatchUpPolicy() {
+    return catchUpPolicy;
+  }
+
+  /**
+   * Set the policy which defines what is done when the steps fall behind the schedule, e.g. because
+   * the observer or the system calls are slow.
+   * @param catchUpPolicy the policy
+   */
+  public void setCatchUpPolicy(CatchUpPolicy catchUpPolicy) {
+    this.catchUpPolicy = catchUpPolicy;
+  }
+
+  /**
+   * Get the statistics where the blocking motions record how many steps were late and by how much.
+   * @return the statistics
+   */
+  public LagStatistics getLagStatistics() {
+    return lagStatistics;
+  }
+
+  /**
+   * Set the statistics where the blocking motions record how many steps were late and by how much.
+   * @param lagStatistics the statistics
+   */
+  public void setLagStatistics(LagStatistics lagStatistics) {
+    this.lagStatistics = lagStatistics;
+  }
+
+  /**
+   * Get the tracker which MouseMotion uses instead of querying the cursor position on every occasion.
+   * @return the tracker or null if the position is always queried from MouseInfoAccessor
+   */
+  public PositionTracker getPositionTracker() {
+    return positionTracker;
+  }
+
+  /**
+   * Set the tracker which MouseMotion uses instead of querying the cursor position on every occasion.
+   * The motions trust the position they set the cursor to, and query it only at the checkpoints configured
+   * in the tracker. The tracker can be shared by all motions moving the same cursor.
+   * @param positionTracker the tracker or null to always query the position from MouseInfoAccessor
+   */
+  public void setPositionTracker(PositionTracker positionTracker) {
+    this.positionTracker = positionTracker;
+  }
+
+  /**
+   * Get the cache of the step profiles of the flows.
+   * @return the cache or null if the profiles are computed for every movement
+   */
+  public StepProfileCache getStepProfileCache() {
+    return stepProfileCache;
+  }
+
+  /**
+   * Set the cache of the step profiles of the flows. When set, the planned movements share the profiles
+   * of the same flow and step count instead of computing the fractions of the flow for every movement.
+   * @param stepProfileCache the cache or null to disable caching
+   */
+  public void setStepProfileCache(StepProfileCache stepProfileCache) {
+    this.stepProfileCache = stepProfileCache;
+  }
 }
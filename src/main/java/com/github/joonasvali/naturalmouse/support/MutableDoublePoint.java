@@ -0,0 +1,47 @@
+package com.github.joonasvali.naturalmouse.support;
+
+/**
+ * Mutable counterpart of DoublePoint. Used as a caller owned output parameter, so values can be returned
+ * from the providers on every step without creating new objects.
+ */
+public class MutableDoublePoint {
+  private double x;
+  private double y;
+
+  public MutableDoublePoint() {
+  }
+
+  public MutableDoublePoint(double x, double y) {
+    this.x = x;
+    this.y = y;
+  }
+
+  public double getX() {
+    return x;
+  }
+
+  public double getY() {
+    return y;
+  }
+
+  public void setX(double x) {
+    this.x = x;
+  }
+
+  public void setY(double y) {
+    this.y = y;
+  }
+
+  public void setLocation(double x, double y) {
+    this.x = x;
+    this.y = y;
+  }
+
+  @Override
+  public String toString() {
+    return "MutableDoublePoint{" +
+        "x=" + x +
+        ", y=" + y +
+        '}';
+  }
+}
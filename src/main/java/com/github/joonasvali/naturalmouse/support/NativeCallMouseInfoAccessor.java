@@ -12,6 +12,8 @@ import java.lang.reflect.Method;
  * DefaultMouseInfoAccessor, because the latter also returns Device info
  * while we only care about position. This class also reuses the returned Point from
  * getMousePosition which is filled with the mouse data, so it doesn't create unnecessary temporary objects.
+ * Every thread has its own Point, so the accessor can be shared between threads, but the Point returned
+ * is overwritten on the next call from the same thread.
  *
  * Since this class uses internal API, it's experimental and
  * not guaranteed to work everywhere or all situations. Use with caution.
@@ -19,7 +21,7 @@ import java.lang.reflect.Method;
  */
 public class NativeCallMouseInfoAccessor implements MouseInfoAccessor {
   private final MouseInfoPeer peer;
-  private final Point p = new Point(0, 0);
+  private final ThreadLocal<Point> point = ThreadLocal.withInitial(Point::new);
 
   public NativeCallMouseInfoAccessor() {
     Toolkit toolkit = Toolkit.getDefaultToolkit();
@@ -36,6 +38,7 @@ public class NativeCallMouseInfoAccessor implements MouseInfoAccessor {
 
   @Override
   public Point getMousePosition() {
+    Point p = point.get();
     peer.fillPointWithCoords(p);
     return p;
   }
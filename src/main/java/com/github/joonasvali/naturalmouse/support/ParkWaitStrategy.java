@@ -0,0 +1,26 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits with LockSupport.parkNanos until the deadline is reached. More precise than sleeping in milliseconds
+ * without using CPU while waiting, but precision is still limited by the timer resolution of the OS.
+ *
+ * The deadline is polled from SystemCalls.nanoTime, which needs to advance in real time. SystemCalls.sleep is
+ * not called.
+ */
+public class ParkWaitStrategy implements WaitStrategy {
+  @Override
+  public void waitUntil(SystemCalls systemCalls, long deadlineNanos) throws InterruptedException {
+    long timeLeft;
+    while ((timeLeft = deadlineNanos - systemCalls.nanoTime()) > 0) {
+      LockSupport.parkNanos(timeLeft);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.MouseInfoAccessor;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the cursor position without querying it from the system every time. The position the cursor
+ * was last set to is trusted, and the real position is queried from MouseInfoAccessor only at the configured
+ * checkpoints of the motion, or when the configured interval has passed since the last query.
+ * On some platforms the queries cost more than moving the cursor.
+ *
+ * The position is published as a snapshot which any thread can read without locking or native calls,
+ * see {@link #getSnapshot()}.
+ *
+ * @see MouseMotionNature#setPositionTracker(PositionTracker)
+ */
+public class PositionTracker {
+  /**
+   * The points of a motion where MouseMotion needs the cursor position.
+   */
+  public enum Checkpoint {
+    /**
+     * Before the motion starts, the cursor may have been moved by the user since the last motion.
+     */
+    MOTION_START,
+    /**
+     * Before each movement of the motion.
+     */
+    MOVEMENT_START,
+    /**
+     * After each movement, to detect that the cursor didn't end up where it was set to.
+     */
+    MOVEMENT_END,
+    /**
+     * After the cursor was moved to the end of a movement it missed.
+     */
+    ADJUSTMENT,
+    /**
+     * When the position is only logged.
+     */
+    LOGGING
+  }
+
+  private static final long UNKNOWN = Long.MIN_VALUE;
+  private final ThreadLocal<Point> point = ThreadLocal.withInitial(Point::new);
+  private final LongAdder queries = new LongAdder();
+  private final LongAdder verifications = new LongAdder();
+  // x in the high and y in the low 32 bits, so both are published with a single volatile write.
+  private volatile long position = UNKNOWN;
+  private volatile long lastVerificationNanos;
+  private volatile Set<Checkpoint> checkpoints = Collections.unmodifiableSet(
+      EnumSet.of(Checkpoint.MOTION_START, Checkpoint.MOVEMENT_END)
+  );
+  private volatile long verifyIntervalNanos = Long.MAX_VALUE;
+
+  /**
+   * Get the cursor position at a checkpoint of the motion. The position is queried from the system
+   * if the checkpoint is verified, the position is not known yet or the verify interval has passed,
+   * otherwise the last known position is returned.
+   *
+   * @param checkpoint the point of the motion
+   * @param mouseInfo the accessor for querying the real position
+   * @param systemCalls the system calls which clock the verify interval is measured with
+   * @return the position, the Point is reused on the next call from the same thread
+   */
+  public Point getMousePosition(Checkpoint checkpoint, MouseInfoAccessor mouseInfo, SystemCalls systemCalls) {
+    queries.increment();
+    long current = position;
+    long interval = verifyIntervalNanos;
+    long now = interval == Long.MAX_VALUE ? 0 : systemCalls.nanoTime();
+    if (current == UNKNOWN || checkpoints.contains(checkpoint)
+        || (interval != Long.MAX_VALUE && now - lastVerificationNanos >= interval)) {
+      Point real = mouseInfo.getMousePosition();
+      verifications.increment();
+      lastVerificationNanos = now;
+      setPosition(real.x, real.y);
+      current = position;
+    }
+    Point p = point.get();
+    p.setLocation(getX(current), getY(current));
+    return p;
+  }
+
+  /**
+   * Records the position the cursor was set to.
+   *
+   * @param x the x-coordinate
+   * @param y the y-coordinate
+   */
+  public void setPosition(int x, int y) {
+    position = ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Can be called from any thread, doesn't block or query the system.
+   *
+   * @return the last known position of the cursor, or null if it's not known yet
+   */
+  public Point getSnapshot() {
+    long current = position;
+    if (current == UNKNOWN) {
+      return null;
+    }
+    return new Point(getX(current), getY(current));
+  }
+
+  /**
+   * Wraps the system calls, so the positions the cursor is set to are recorded in this tracker.
+   *
+   * @param systemCalls the system calls
+   * @return the system calls which record the positions
+   */
+  public SystemCalls track(SystemCalls systemCalls) {
+    return new TrackingSystemCalls(systemCalls);
+  }
+
+  /**
+   * Forgets the position, so it's queried from the system on the next call.
+   */
+  public void invalidate() {
+    position = UNKNOWN;
+  }
+
+  public Set<Checkpoint> getCheckpoints() {
+    return checkpoints;
+  }
+
+  /**
+   * @param checkpoints the checkpoints where the position is always queried from the system
+   */
+  public void setCheckpoints(Set<Checkpoint> checkpoints) {
+    this.checkpoints = checkpoints.isEmpty()
+        ? Collections.emptySet()
+        : Collections.unmodifiableSet(EnumSet.copyOf(checkpoints));
+  }
+
+  public long getVerifyIntervalNanos() {
+    return verifyIntervalNanos;
+  }
+
+  /**
+   * @param verifyIntervalNanos the position is queried from the system if this much time has passed since
+   *                            the last query, Long.MAX_VALUE to query only at the checkpoints
+   */
+  public void setVerifyIntervalNanos(long verifyIntervalNanos) {
+    this.verifyIntervalNanos = verifyIntervalNanos;
+  }
+
+  /**
+   * @return the number of times the position was asked
+   */
+  public long getQueries() {
+    return queries.sum();
+  }
+
+  /**
+   * @return the number of times the position was queried from the system
+   */
+  public long getVerifications() {
+    return verifications.sum();
+  }
+
+  private static int getX(long position) {
+    return (int) (position >> 32);
+  }
+
+  private static int getY(long position) {
+    return (int) position;
+  }
+
+  private class TrackingSystemCalls implements SystemCalls {
+    private final SystemCalls underlying;
+
+    private TrackingSystemCalls(SystemCalls underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+      return underlying.currentTimeMillis();
+    }
+
+    @Override
+    public long nanoTime() {
+      return underlying.nanoTime();
+    }
+
+    @Override
+    public void sleep(long time) throws InterruptedException {
+      underlying.sleep(time);
+    }
+
+    @Override
+    public Dimension getScreenSize() {
+      return underlying.getScreenSize();
+    }
+
+    @Override
+    public void setMousePosition(int x, int y) {
+      underlying.setMousePosition(x, y);
+      setPosition(x, y);
+    }
+  }
+}
@@ -42,12 +42,13 @@ public class ScreenAdjustedNature extends DefaultMouseMotionNature {
       this.underlying = underlying;
     }
 
-    // This implementation reuses the point.
-    private final Point p = new Point();
+    // This implementation reuses the point, one per thread, so the nature can be shared between threads.
+    private final ThreadLocal<Point> point = ThreadLocal.withInitial(Point::new);
 
     @Override
     public Point getMousePosition() {
       Point realPointer = underlying.getMousePosition();
+      Point p = point.get();
       p.setLocation(realPointer.x - offset.x, realPointer.y - offset.y);
       return p;
     }
@@ -65,6 +66,11 @@ public class ScreenAdjustedNature extends DefaultMouseMotionNature {
       return underlying.currentTimeMillis();
     }
 
+    @Override
+    public long nanoTime() {
+      return underlying.nanoTime();
+    }
+
     @Override
     public void sleep(long time) throws InterruptedException {
       underlying.sleep(time);
@@ -12,11 +12,18 @@ public class SinusoidalDeviationProvider implements DeviationProvider {
 
   @Override
   public DoublePoint getDeviation(double totalDistanceInPixels, double completionFraction) {
+    MutableDoublePoint result = new MutableDoublePoint();
+    getDeviation(totalDistanceInPixels, completionFraction, result);
+    return new DoublePoint(result.getX(), result.getY());
+  }
+
+  @Override
+  public void getDeviation(double totalDistanceInPixels, double completionFraction, MutableDoublePoint result) {
     double deviationFunctionResult = (1 - Math.cos(completionFraction * Math.PI * 2)) / 2;
 
     double deviationX = totalDistanceInPixels / slopeDivider;
     double deviationY = totalDistanceInPixels / slopeDivider;
 
-    return new DoublePoint(deviationFunctionResult * deviationX, deviationFunctionResult * deviationY);
+    result.setLocation(deviationFunctionResult * deviationX, deviationFunctionResult * deviationY);
   }
 }
@@ -0,0 +1,25 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits by calling SystemCalls.sleep once with the remaining time rounded up to whole milliseconds, so it never
+ * returns before the deadline. The precision is limited to the precision of the sleep, but as the deadlines are
+ * absolute, the extra fractions don't add up over the steps.
+ * This is the default strategy and the only one which respects a custom SystemCalls.sleep implementation.
+ */
+public class SleepWaitStrategy implements WaitStrategy {
+  private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Override
+  public void waitUntil(SystemCalls systemCalls, long deadlineNanos) throws InterruptedException {
+    long timeLeftNanos = deadlineNanos - systemCalls.nanoTime();
+    if (timeLeftNanos > 0) {
+      // Rounded up, so the sleep never wakes before the deadline.
+      systemCalls.sleep((timeLeftNanos + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI);
+    }
+  }
+}
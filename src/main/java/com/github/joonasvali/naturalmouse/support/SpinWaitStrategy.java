@@ -0,0 +1,73 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parks until the deadline is near and busy-spins the rest of the time. Most precise of the strategies,
+ * suitable for high step rates, but keeps a CPU core busy for the spinning part of every wait.
+ * Spinning uses Thread.onSpinWait when running on Java 9+ and Thread.yield otherwise.
+ *
+ * The deadline is polled from SystemCalls.nanoTime, which needs to advance in real time. SystemCalls.sleep is
+ * not called.
+ */
+public class SpinWaitStrategy implements WaitStrategy {
+  public static final long DEFAULT_SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+  private static final MethodHandle ON_SPIN_WAIT = findOnSpinWait();
+  private final long spinThresholdNanos;
+
+  public SpinWaitStrategy() {
+    this(DEFAULT_SPIN_THRESHOLD_NANOS);
+  }
+
+  /**
+   * @param spinThresholdNanos the time before deadline when parking is stopped and spinning starts.
+   */
+  public SpinWaitStrategy(long spinThresholdNanos) {
+    this.spinThresholdNanos = spinThresholdNanos;
+  }
+
+  @Override
+  public void waitUntil(SystemCalls systemCalls, long deadlineNanos) throws InterruptedException {
+    long timeLeft;
+    while ((timeLeft = deadlineNanos - systemCalls.nanoTime()) > spinThresholdNanos) {
+      LockSupport.parkNanos(timeLeft - spinThresholdNanos);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+    while (deadlineNanos - systemCalls.nanoTime() > 0) {
+      onSpinWait();
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+  }
+
+  private static void onSpinWait() {
+    if (ON_SPIN_WAIT == null) {
+      Thread.yield();
+      return;
+    }
+    try {
+      ON_SPIN_WAIT.invokeExact();
+    } catch (Throwable e) {
+      Thread.yield();
+    }
+  }
+
+  private static MethodHandle findOnSpinWait() {
+    try {
+      return MethodHandles.lookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      // Java 8, fall back to yielding.
+      return null;
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flow where the speed changes smoothly instead of jumping at the bucket edges. The buckets are taken as
+ * the speed at the middle of their time and the speed in between follows a monotone cubic curve
+ * (Fritsch-Butland), so it never overshoots the neighbouring buckets or goes negative. Before the middle
+ * of the first and after the middle of the last bucket the speed is constant.
+ *
+ * The distance travelled is the integral of the curve, which is calculated in closed form, so the step
+ * fraction of any completion interval takes constant time regardless of the number of buckets or steps.
+ */
+public class SplineFlow extends Flow {
+  private final double[] speeds;
+  private final double[] slopes;
+  // cumulative[i] is the distance from the start until the middle of bucket i, the whole distance is 1.
+  private final double[] cumulative;
+  private final double bucketTime;
+  private final double total;
+
+  /**
+   * @param characteristics the characteristics array, see {@link Flow#Flow(double[])}
+   */
+  public SplineFlow(double[] characteristics) {
+    super(characteristics);
+    speeds = getFlowCharacteristics();
+    int n = speeds.length;
+    bucketTime = 1d / n;
+    slopes = new double[n];
+    for (int i = 1; i < n - 1; i++) {
+      double before = (speeds[i] - speeds[i - 1]) / bucketTime;
+      double after = (speeds[i + 1] - speeds[i]) / bucketTime;
+      if (before * after > 0) {
+        // Harmonic mean of the neighbouring slopes keeps the curve monotone between the buckets.
+        slopes[i] = 2 / (1 / before + 1 / after);
+      }
+    }
+    // The ends have zero slope to join the constant speed before the first and after the last bucket.
+
+    cumulative = new double[n];
+    cumulative[0] = speeds[0] * bucketTime / 2;
+    for (int i = 0; i < n - 1; i++) {
+      cumulative[i + 1] = cumulative[i] + integrateSegment(i, 1);
+    }
+    total = cumulative[n - 1] + speeds[n - 1] * bucketTime / 2;
+    for (int i = 0; i < n; i++) {
+      cumulative[i] /= total;
+    }
+  }
+
+  /**
+   * Converts flow characteristics, e.g. from FlowTemplates, to spline flows.
+   *
+   * @param characteristics the characteristics of each flow
+   * @return the flows
+   */
+  public static List<Flow> fromTemplates(double[]... characteristics) {
+    List<Flow> flows = new ArrayList<>(characteristics.length);
+    for (double[] flow : characteristics) {
+      flows.add(new SplineFlow(flow));
+    }
+    return flows;
+  }
+
+  @Override
+  public double getStepFraction(int steps, double completion) {
+    return getDistanceUntil(completion + 1d / steps) - getDistanceUntil(completion);
+  }
+
+  /**
+   * @param completion value between 0 and 1, the value describes movement completion in time
+   * @return the speed at the moment relative to the average speed of the movement
+   */
+  public double getSpeed(double completion) {
+    double t = Math.max(0, Math.min(1, completion));
+    int n = speeds.length;
+    double position = t * n - 0.5;
+    if (position <= 0 || n == 1) {
+      return speeds[0] / total;
+    }
+    if (position >= n - 1) {
+      return speeds[n - 1] / total;
+    }
+    int i = (int) position;
+    double s = position - i;
+    double s2 = s * s;
+    double s3 = s2 * s;
+    return ((2 * s3 - 3 * s2 + 1) * speeds[i]
+        + (s3 - 2 * s2 + s) * bucketTime * slopes[i]
+        + (-2 * s3 + 3 * s2) * speeds[i + 1]
+        + (s3 - s2) * bucketTime * slopes[i + 1]) / total;
+  }
+
+  /**
+   * @param completion value between 0 and 1, the value describes movement completion in time
+   * @return the fraction of the distance travelled from the start until the completion, value from 0...1
+   */
+  public double getDistanceUntil(double completion) {
+    double t = Math.max(0, Math.min(1, completion));
+    int n = speeds.length;
+    double position = t * n - 0.5;
+    if (position <= 0 || n == 1) {
+      return speeds[0] * t / total;
+    }
+    if (position >= n - 1) {
+      return 1 - speeds[n - 1] * (1 - t) / total;
+    }
+    int i = (int) position;
+    return cumulative[i] + integrateSegment(i, position - i) / total;
+  }
+
+  /**
+   * Integral of the curve from the middle of bucket i to the fraction s of the way to the middle of bucket i + 1,
+   * not normalized.
+   */
+  private double integrateSegment(int i, double s) {
+    double s2 = s * s;
+    double s3 = s2 * s;
+    double s4 = s3 * s;
+    return bucketTime * (
+        (s4 / 2 - s3 + s) * speeds[i]
+        + (s4 / 4 - 2 * s3 / 3 + s2 / 2) * bucketTime * slopes[i]
+        + (-s4 / 2 + s3) * speeds[i + 1]
+        + (s4 / 4 - s3 / 3) * bucketTime * slopes[i + 1]
+    );
+  }
+}
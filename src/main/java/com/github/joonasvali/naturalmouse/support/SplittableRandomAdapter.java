@@ -0,0 +1,79 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Random backed by a SplittableRandom. Can be used everywhere a Random is expected (e.g. NoiseProvider or
+ * MouseMotionFactory.setRandom) and avoids the atomic seed update of java.util.Random on every number.
+ *
+ * Like SplittableRandom, this class is not thread safe. Use {@link #split()} to create an independent
+ * instance for another thread or motion.
+ */
+public class SplittableRandomAdapter extends Random {
+  private static final long serialVersionUID = 1L;
+  // Not final, because Random constructor calls setSeed before the fields of this class are assigned.
+  private SplittableRandom random;
+
+  public SplittableRandomAdapter() {
+    this(new SplittableRandom());
+  }
+
+  public SplittableRandomAdapter(long seed) {
+    this(new SplittableRandom(seed));
+  }
+
+  public SplittableRandomAdapter(SplittableRandom random) {
+    super(0);
+    this.random = random;
+  }
+
+  /**
+   * @return a new adapter with a random split from this one, see {@link SplittableRandom#split()}
+   */
+  public SplittableRandomAdapter split() {
+    return new SplittableRandomAdapter(random.split());
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    // Clears the nextGaussian value cached in Random, so the sequence after a reseed only depends on the seed.
+    super.setSeed(seed);
+    random = new SplittableRandom(seed);
+  }
+
+  @Override
+  protected int next(int bits) {
+    return random.nextInt() >>> (32 - bits);
+  }
+
+  @Override
+  public int nextInt() {
+    return random.nextInt();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  @Override
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return random.nextBoolean();
+  }
+
+  @Override
+  public float nextFloat() {
+    return (random.nextInt() >>> 8) * 0x1.0p-24f;
+  }
+}
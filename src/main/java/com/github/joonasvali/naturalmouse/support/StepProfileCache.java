@@ -0,0 +1,149 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of step profiles, the fractions of the distance travelled on each step of a movement,
+ * see {@link Flow#getStepFractions(int)}. A profile only depends on the flow and the number of steps,
+ * and as SpeedManagers choose from a few flows, the same pairs recur on most movements. The step size on
+ * an axis is then the profile value multiplied with the distance on the axis.
+ *
+ * The flow is part of the key by identity. The least recently used profiles are evicted when the cache is full,
+ * and profiles longer than the maximum steps are not cached at all, so the memory stays bounded even when
+ * every movement uses a new flow, e.g. from FlowTemplates.random(). The cache is thread safe.
+ *
+ * @see MouseMotionNature#setStepProfileCache(StepProfileCache)
+ */
+public class StepProfileCache {
+  public static final int DEFAULT_MAXIMUM_SIZE = 256;
+  public static final int DEFAULT_MAXIMUM_STEPS = 4096;
+  private final int maximumSteps;
+  private final Map<Key, double[]> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public StepProfileCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_STEPS);
+  }
+
+  /**
+   * @param maximumSize the maximum number of profiles kept in the cache
+   * @param maximumSteps the maximum number of steps of a cached profile, longer profiles are computed on every call
+   */
+  public StepProfileCache(int maximumSize, int maximumSteps) {
+    if (maximumSize < 1 || maximumSteps < 1) {
+      throw new IllegalArgumentException("Invalid cache configuration: " + maximumSize + " " + maximumSteps);
+    }
+    this.maximumSteps = maximumSteps;
+    this.entries = new LinkedHashMap<Key, double[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, double[]> eldest) {
+        if (size() > maximumSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Get the step profile, either from the cache or by computing it from the flow.
+   *
+   * @param flow the flow of the movement
+   * @param steps number of steps the movement involves
+   * @return the fractions of the distance for each step, the array is shared and must not be modified
+   */
+  public double[] getProfile(Flow flow, int steps) {
+    if (steps > maximumSteps) {
+      misses.increment();
+      return flow.getStepFractions(steps);
+    }
+    Key key = new Key(flow, steps);
+    double[] profile;
+    synchronized (entries) {
+      profile = entries.get(key);
+    }
+    if (profile != null) {
+      hits.increment();
+      return profile;
+    }
+    misses.increment();
+    // Computed without holding the lock, a concurrent duplicate computation gives the same values.
+    profile = flow.getStepFractions(steps);
+    synchronized (entries) {
+      entries.put(key, profile);
+    }
+    return profile;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the number of profiles in the cache
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Removes all the cached profiles, the counters are kept.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  private static final class Key {
+    private final Flow flow;
+    private final int steps;
+
+    private Key(Flow flow, int steps) {
+      this.flow = flow;
+      this.steps = steps;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return flow == other.flow && steps == other.steps;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(flow) + steps;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "StepProfileCache{" +
+        "size=" + size() +
+        ", hits=" + getHits() +
+        ", misses=" + getMisses() +
+        ", evictions=" + getEvictions() +
+        '}';
+  }
+}
@@ -0,0 +1,212 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.DeviationProvider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DeviationProvider which samples another provider into tables and answers with linear interpolation, so
+ * an expensive deviation curve costs a table lookup per step.
+ *
+ * The distances are divided into classes growing by the distance ratio, 1 to ratio, ratio to ratio^2 etc.
+ * and 0 to 1. The underlying provider is sampled at both ends of a class at the given number of evenly
+ * spaced completion points, and the deviation is interpolated between the points and between the ends.
+ * Between the distances the result is exact for a provider linear in the distance, like SinusoidalDeviationProvider,
+ * otherwise the error shrinks with a smaller ratio. Between the points the error shrinks with more points.
+ *
+ * When a class is sampled, its interpolation error is measured in the middle of the points and
+ * the distance, see {@link #getEstimatedMaxError()}. The least recently used classes are evicted when the cache
+ * is full. The provider is thread safe if the underlying provider is.
+ */
+public class TabulatedDeviationProvider implements DeviationProvider {
+  public static final int DEFAULT_POINTS = 65;
+  public static final double DEFAULT_DISTANCE_RATIO = 1.25;
+  public static final int DEFAULT_MAXIMUM_SIZE = 64;
+  private final DeviationProvider underlying;
+  private final int points;
+  private final double distanceRatio;
+  private final double logDistanceRatio;
+  private final Map<Integer, DistanceClass> classes;
+  private final DoubleAccumulator maxError = new DoubleAccumulator(Math::max, 0);
+  private final LongAdder evictions = new LongAdder();
+  // The class of the previous call on each thread, the steps of a movement all have the same distance.
+  // DistanceClass doesn't reference the provider, so a thread keeping its value doesn't keep the provider.
+  private final ThreadLocal<DistanceClass> last = new ThreadLocal<>();
+
+  public TabulatedDeviationProvider(DeviationProvider underlying) {
+    this(underlying, DEFAULT_POINTS, DEFAULT_DISTANCE_RATIO, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * @param underlying the provider which is sampled
+   * @param points the number of completion points sampled for a distance, including 0 and 1
+   * @param distanceRatio the ratio of the distances at the ends of a class, bigger than 1
+   * @param maximumSize the maximum number of distance classes kept in the cache
+   */
+  public TabulatedDeviationProvider(DeviationProvider underlying, int points, double distanceRatio,
+                                    int maximumSize) {
+    if (points < 2 || !(distanceRatio > 1) || maximumSize < 1) {
+      throw new IllegalArgumentException(
+          "Invalid table configuration: " + points + " " + distanceRatio + " " + maximumSize
+      );
+    }
+    this.underlying = underlying;
+    this.points = points;
+    this.distanceRatio = distanceRatio;
+    this.logDistanceRatio = Math.log(distanceRatio);
+    this.classes = new LinkedHashMap<Integer, DistanceClass>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, DistanceClass> eldest) {
+        if (size() > maximumSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public DoublePoint getDeviation(double totalDistanceInPixels, double completionFraction) {
+    MutableDoublePoint result = new MutableDoublePoint();
+    getDeviation(totalDistanceInPixels, completionFraction, result);
+    return new DoublePoint(result.getX(), result.getY());
+  }
+
+  @Override
+  public void getDeviation(double totalDistanceInPixels, double completionFraction, MutableDoublePoint result) {
+    double distance = Math.max(0, totalDistanceInPixels);
+    DistanceClass distanceClass = last.get();
+    if (distanceClass == null || distance < distanceClass.from || distance >= distanceClass.until) {
+      distanceClass = getDistanceClass(getClassIndex(distance));
+      last.set(distanceClass);
+    }
+    distanceClass.interpolate(distance, completionFraction, result);
+  }
+
+  /**
+   * The error is measured only where the linear interpolation is expected to be the farthest from the
+   * underlying provider, so it's an estimate and not a bound, the error elsewhere can be bigger if the
+   * deviation curve changes direction between the sampled points or distances.
+   *
+   * @return the largest interpolation error in pixels measured on either axis in the classes sampled so far
+   */
+  public double getEstimatedMaxError() {
+    return maxError.get();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the number of distance classes in the cache
+   */
+  public int size() {
+    synchronized (classes) {
+      return classes.size();
+    }
+  }
+
+  /**
+   * Removes all the tables, the measured error and the counters are kept. Other threads may keep using
+   * the class of their previous call, which gives the same results.
+   */
+  public void clear() {
+    synchronized (classes) {
+      classes.clear();
+    }
+    last.remove();
+  }
+
+  private int getClassIndex(double distance) {
+    if (distance < 1) {
+      return -1;
+    }
+    return (int) Math.floor(Math.log(distance) / logDistanceRatio);
+  }
+
+  private DistanceClass getDistanceClass(int index) {
+    DistanceClass distanceClass;
+    synchronized (classes) {
+      distanceClass = classes.get(index);
+    }
+    if (distanceClass != null) {
+      return distanceClass;
+    }
+    // Sampled without holding the lock, a concurrent duplicate sampling gives the same tables.
+    double from = index < 0 ? 0 : Math.pow(distanceRatio, index);
+    double until = Math.pow(distanceRatio, index + 1);
+    distanceClass = new DistanceClass(points, from, until, sample(from), sample(until));
+    maxError.accumulate(distanceClass.measureError(underlying));
+    synchronized (classes) {
+      classes.put(index, distanceClass);
+    }
+    return distanceClass;
+  }
+
+  // x and y of the deviation at each completion point one after another.
+  private double[] sample(double distance) {
+    double[] table = new double[points * 2];
+    MutableDoublePoint deviation = new MutableDoublePoint();
+    for (int i = 0; i < points; i++) {
+      underlying.getDeviation(distance, i / (double) (points - 1), deviation);
+      table[i * 2] = deviation.getX();
+      table[i * 2 + 1] = deviation.getY();
+    }
+    return table;
+  }
+
+  private static class DistanceClass {
+    private final int points;
+    private final double from;
+    private final double until;
+    private final double[] fromTable;
+    private final double[] untilTable;
+
+    private DistanceClass(int points, double from, double until, double[] fromTable, double[] untilTable) {
+      this.points = points;
+      this.from = from;
+      this.until = until;
+      this.fromTable = fromTable;
+      this.untilTable = untilTable;
+    }
+
+    private void interpolate(double distance, double completion, MutableDoublePoint result) {
+      double position = Math.max(0, Math.min(1, completion)) * (points - 1);
+      int i = Math.min(points - 2, (int) position);
+      double c = position - i;
+      double d = Math.max(0, Math.min(1, (distance - from) / (until - from)));
+      int xi = i * 2;
+      double fromX = fromTable[xi] + (fromTable[xi + 2] - fromTable[xi]) * c;
+      double fromY = fromTable[xi + 1] + (fromTable[xi + 3] - fromTable[xi + 1]) * c;
+      double untilX = untilTable[xi] + (untilTable[xi + 2] - untilTable[xi]) * c;
+      double untilY = untilTable[xi + 1] + (untilTable[xi + 3] - untilTable[xi + 1]) * c;
+      result.setLocation(fromX + (untilX - fromX) * d, fromY + (untilY - fromY) * d);
+    }
+
+    /**
+     * Compares to the underlying provider in the middle of the points at both ends and in the middle
+     * of the class, where the linear interpolation is the farthest from the sampled values.
+     */
+    private double measureError(DeviationProvider underlying) {
+      double error = 0;
+      MutableDoublePoint expected = new MutableDoublePoint();
+      MutableDoublePoint actual = new MutableDoublePoint();
+      double[] distances = {from, (from + until) / 2, until};
+      for (double distance : distances) {
+        for (int i = 0; i < points - 1; i++) {
+          double completion = (i + 0.5) / (points - 1);
+          underlying.getDeviation(distance, completion, expected);
+          interpolate(distance, completion, actual);
+          error = Math.max(error, Math.abs(expected.getX() - actual.getX()));
+          error = Math.max(error, Math.abs(expected.getY() - actual.getY()));
+        }
+      }
+      return error;
+    }
+  }
+}
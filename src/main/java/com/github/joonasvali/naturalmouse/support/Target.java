@@ -0,0 +1,194 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * The area where the motion should end, e.g. a button. The cursor doesn't need to land on an exact pixel,
+ * so a natural landing point is chosen inside the area, and the motion is complete as soon as
+ * the cursor is inside it, which saves the correcting movements near the destination.
+ *
+ * Like with a real user, the landing points scatter normally around the center of the area.
+ */
+public class Target {
+  // Standard deviation of the landing points relative to the half size of the target,
+  // about 95% of the points land inside before clamping.
+  private static final double LANDING_DEVIATION = 0.5;
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  // For round targets x and y are the center and width and height are the diameter.
+  private final boolean round;
+  private final int radius;
+
+  private Target(int x, int y, int width, int height, boolean round, int radius) {
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.round = round;
+    this.radius = radius;
+  }
+
+  /**
+   * @param x the x-coordinate
+   * @param y the y-coordinate
+   * @return the target containing a single pixel
+   */
+  public static Target point(int x, int y) {
+    return new Target(x, y, 1, 1, false, 0);
+  }
+
+  /**
+   * @param x the x-coordinate of the top left corner
+   * @param y the y-coordinate of the top left corner
+   * @param width the width in pixels
+   * @param height the height in pixels
+   * @return the target containing the pixels of the rectangle
+   */
+  public static Target rectangle(int x, int y, int width, int height) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Invalid target size: " + width + "x" + height);
+    }
+    return new Target(x, y, width, height, false, 0);
+  }
+
+  /**
+   * @param x the x-coordinate of the top left corner
+   * @param y the y-coordinate of the top left corner
+   * @param width the width in pixels
+   * @param height the height in pixels
+   * @param margin the pixels on each side which are excluded from the target, so the cursor
+   *               doesn't land right on the edge
+   * @return the target containing the pixels of the rectangle without the margin,
+   * or the center pixel if the margin doesn't leave anything
+   */
+  public static Target rectangle(int x, int y, int width, int height, int margin) {
+    if (width <= 2 * margin || height <= 2 * margin) {
+      return point(x + (width - 1) / 2, y + (height - 1) / 2);
+    }
+    return rectangle(x + margin, y + margin, width - 2 * margin, height - 2 * margin);
+  }
+
+  /**
+   * @param rectangle the rectangle
+   * @return the target containing the pixels of the rectangle
+   */
+  public static Target rectangle(Rectangle rectangle) {
+    return rectangle(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+  }
+
+  /**
+   * @param x the x-coordinate of the center
+   * @param y the y-coordinate of the center
+   * @param radius the tolerance in pixels
+   * @return the target containing the pixels within the radius from the center
+   */
+  public static Target circle(int x, int y, int radius) {
+    if (radius < 0) {
+      throw new IllegalArgumentException("Invalid target radius: " + radius);
+    }
+    if (radius == 0) {
+      return point(x, y);
+    }
+    return new Target(x, y, 2 * radius + 1, 2 * radius + 1, true, radius);
+  }
+
+  /**
+   * @param x the x-coordinate of the pixel
+   * @param y the y-coordinate of the pixel
+   * @return true if the pixel is part of the target
+   */
+  public boolean contains(int x, int y) {
+    if (round) {
+      long dx = x - this.x;
+      long dy = y - this.y;
+      return dx * dx + dy * dy <= (long) radius * radius;
+    }
+    return x >= this.x && x < this.x + width && y >= this.y && y < this.y + height;
+  }
+
+  /**
+   * @return true if the target is a single pixel
+   */
+  public boolean isPoint() {
+    return width == 1 && height == 1;
+  }
+
+  /**
+   * @return the width of the target in pixels
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * @return the height of the target in pixels
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * The size used for planning, e.g. how far the overshoots may land and still hit the target.
+   *
+   * @return the distance in pixels between the farthest pixels of the target along its shorter side,
+   * 0 for a single pixel
+   */
+  public int getSize() {
+    return Math.min(width, height) - 1;
+  }
+
+  /**
+   * @return the pixel in the center of the target
+   */
+  public Point getCenter() {
+    if (round) {
+      return new Point(x, y);
+    }
+    return new Point(x + (width - 1) / 2, y + (height - 1) / 2);
+  }
+
+  /**
+   * Chooses the pixel where the cursor is aimed at. A single pixel target doesn't use the random.
+   *
+   * @param random the random of the motion
+   * @return a pixel inside the target
+   */
+  public Point getLandingPoint(Random random) {
+    if (isPoint()) {
+      return new Point(x, y);
+    }
+    double centerX = round ? x : x + (width - 1) / 2d;
+    double centerY = round ? y : y + (height - 1) / 2d;
+    double offsetX = random.nextGaussian() * LANDING_DEVIATION * (width - 1) / 2d;
+    double offsetY = random.nextGaussian() * LANDING_DEVIATION * (height - 1) / 2d;
+    if (round) {
+      double length = Math.hypot(offsetX, offsetY);
+      if (length > radius) {
+        offsetX = offsetX / length * radius;
+        offsetY = offsetY / length * radius;
+      }
+    }
+    int landingX = (int) Math.round(centerX + offsetX);
+    int landingY = (int) Math.round(centerY + offsetY);
+    if (!round) {
+      landingX = Math.max(x, Math.min(x + width - 1, landingX));
+      landingY = Math.max(y, Math.min(y + height - 1, landingY));
+    }
+    if (!contains(landingX, landingY)) {
+      // Rounding may push the point over the edge.
+      return getCenter();
+    }
+    return new Point(landingX, landingY);
+  }
+
+  @Override
+  public String toString() {
+    if (round) {
+      return "Target{x=" + x + ", y=" + y + ", radius=" + radius + '}';
+    }
+    return "Target{x=" + x + ", y=" + y + ", width=" + width + ", height=" + height + '}';
+  }
+}
@@ -0,0 +1,75 @@
+package com.github.joonasvali.naturalmouse.support;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random using the xoroshiro128+ generator. It's the fastest of the provided randoms and its quality
+ * is more than enough for mouse movements. Can be used everywhere a Random is expected.
+ *
+ * The generator is not thread safe, every thread or motion should use its own instance.
+ */
+public class Xoroshiro128PlusRandom extends Random {
+  private static final long serialVersionUID = 1L;
+  private long s0;
+  private long s1;
+
+  public Xoroshiro128PlusRandom() {
+    this(ThreadLocalRandom.current().nextLong());
+  }
+
+  public Xoroshiro128PlusRandom(long seed) {
+    // Random constructor calls setSeed.
+    super(seed);
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    // Clears the nextGaussian value cached in Random, so the sequence after a reseed only depends on the seed.
+    super.setSeed(seed);
+    // The state is expanded from the seed with SplitMix64, so similar seeds produce unrelated sequences.
+    long x = seed;
+    x += 0x9E3779B97F4A7C15L;
+    s0 = mix(x);
+    x += 0x9E3779B97F4A7C15L;
+    s1 = mix(x);
+  }
+
+  @Override
+  public long nextLong() {
+    long a = s0;
+    long b = s1;
+    long result = a + b;
+    b ^= a;
+    s0 = Long.rotateLeft(a, 24) ^ b ^ (b << 16);
+    s1 = Long.rotateLeft(b, 37);
+    return result;
+  }
+
+  @Override
+  protected int next(int bits) {
+    // The upper bits of xoroshiro128+ are of better quality than the lower ones.
+    return (int) (nextLong() >>> (64 - bits));
+  }
+
+  @Override
+  public int nextInt() {
+    return next(32);
+  }
+
+  @Override
+  public double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return nextLong() < 0;
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -3,6 +3,7 @@ package com.github.joonasvali.naturalmouse.support.mousemotion;
 import com.github.joonasvali.naturalmouse.api.OvershootManager;
 import com.github.joonasvali.naturalmouse.api.SpeedManager;
 import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.Target;
 import com.github.joonasvali.naturalmouse.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,22 +11,55 @@ import org.slf4j.LoggerFactory;
 import java.awt.*;
 import java.util.ArrayDeque;
 import java.util.Iterator;
+import java.util.Random;
 
 public class MovementFactory {
   private static final Logger log = LoggerFactory.getLogger(MovementFactory.class);
   private final int xDest;
   private final int yDest;
+  private final Target target;
   private final SpeedManager speedManager;
   private final OvershootManager overshootManager;
   private final Dimension screenSize;
+  // When null, the managers use their own randomness.
+  private final Random random;
 
   public MovementFactory(int xDest, int yDest, SpeedManager speedManager,
                          OvershootManager overshootManager, Dimension screenSize) {
+    this(xDest, yDest, speedManager, overshootManager, screenSize, null);
+  }
+
+  /**
+   * @param xDest the x-coordinate of destination
+   * @param yDest the y-coordinate of destination
+   * @param speedManager the speed manager
+   * @param overshootManager the overshoot manager
+   * @param screenSize the screen size, which limits the overshoots
+   * @param random the random of the motion, which is passed to the managers
+   */
+  public MovementFactory(int xDest, int yDest, SpeedManager speedManager,
+                         OvershootManager overshootManager, Dimension screenSize, Random random) {
+    this(xDest, yDest, Target.point(xDest, yDest), speedManager, overshootManager, screenSize, random);
+  }
+
+  /**
+   * @param xDest the x-coordinate of the landing point
+   * @param yDest the y-coordinate of the landing point
+   * @param target the target containing the landing point, an overshoot which lands inside it ends the motion
+   * @param speedManager the speed manager
+   * @param overshootManager the overshoot manager
+   * @param screenSize the screen size, which limits the overshoots
+   * @param random the random of the motion, which is passed to the managers
+   */
+  public MovementFactory(int xDest, int yDest, Target target, SpeedManager speedManager,
+                         OvershootManager overshootManager, Dimension screenSize, Random random) {
     this.xDest = xDest;
     this.yDest = yDest;
+    this.target = target;
     this.speedManager = speedManager;
     this.overshootManager = overshootManager;
     this.screenSize = screenSize;
+    this.random = random;
   }
 
   public ArrayDeque<Movement> createMovements(Point currentMousePosition) {
@@ -36,10 +70,10 @@ public class MovementFactory {
     int yDistance = yDest - lastMousePositionY;
 
     double initialDistance = Math.hypot(xDistance, yDistance);
-    Pair<Flow, Long> flowTime = speedManager.getFlowWithTime(initialDistance);
+    Pair<Flow, Long> flowTime = getFlowWithTime(initialDistance);
     Flow flow = flowTime.x;
     long mouseMovementMs = flowTime.y;
-    int overshoots = overshootManager.getOvershoots(flow, mouseMovementMs, initialDistance);
+    int overshoots = overshootManager.getOvershoots(flow, mouseMovementMs, initialDistance, target.getSize());
 
     if (overshoots == 0) {
       log.debug("No overshoots for movement from ({}, {}) -> ({}, {})", currentMousePosition.x, currentMousePosition.y, xDest, yDest);
@@ -48,7 +82,7 @@ public class MovementFactory {
     }
 
     for (int i = overshoots; i > 0; i--) {
-      Point overshoot = overshootManager.getOvershootAmount(
+      Point overshoot = getOvershootAmount(
           xDest - lastMousePositionX, yDest - lastMousePositionY, mouseMovementMs, i
       );
       int currentDestinationX = limitByScreenWidth(xDest + overshoot.x);
@@ -56,10 +90,16 @@ public class MovementFactory {
       xDistance = currentDestinationX - lastMousePositionX;
       yDistance = currentDestinationY - lastMousePositionY;
       double distance = Math.hypot(xDistance, yDistance);
-      flow = speedManager.getFlowWithTime(distance).x;
+      flow = getFlowWithTime(distance).x;
       movements.add(
           new Movement(currentDestinationX, currentDestinationY, distance, xDistance, yDistance, mouseMovementMs, flow)
       );
+      if (!target.isPoint() && target.contains(currentDestinationX, currentDestinationY)) {
+        // The overshoot hit the target area, so no need to continue to the landing point.
+        log.debug("Overshoot to ({}, {}) is inside {}, {} movements returned",
+            currentDestinationX, currentDestinationY, target, movements.size());
+        return movements;
+      }
       lastMousePositionX = currentDestinationX;
       lastMousePositionY = currentDestinationY;
       // Apply for the next overshoot if exists.
@@ -85,7 +125,7 @@ public class MovementFactory {
     xDistance = xDest - lastMousePositionX;
     yDistance = yDest - lastMousePositionY;
     double distance = Math.hypot(xDistance, yDistance);
-    Pair<Flow, Long> movementToTargetFlowTime = speedManager.getFlowWithTime(distance);
+    Pair<Flow, Long> movementToTargetFlowTime = getFlowWithTime(distance);
     long finalMovementTime = overshootManager.deriveNextMouseMovementTimeMs(movementToTargetFlowTime.y, 0);
     Movement finalMove = new Movement(
         xDest, yDest, distance, xDistance, yDistance, finalMovementTime, movementToTargetFlowTime.x
@@ -98,6 +138,86 @@ public class MovementFactory {
     return movements;
   }
 
+  /**
+   * Same as {@link #createMovements(Point)}, but the movements fit into the time budget. If the movements
+   * take longer than the budget, the overshoots are dropped and the cursor is moved directly to the destination,
+   * and if that still takes too long, the time of the movement is scaled down to the budget.
+   * The time left over for the reaction time between the movements is given by
+   * {@link #getReactionTimeLimitMs(ArrayDeque, long)}.
+   *
+   * @param currentMousePosition the position where the motion starts
+   * @param timeBudgetMs the time in ms the movements may take in total
+   * @return the movements
+   */
+  public ArrayDeque<Movement> createMovements(Point currentMousePosition, long timeBudgetMs) {
+    if (timeBudgetMs < 0) {
+      throw new IllegalArgumentException("Invalid time budget: " + timeBudgetMs);
+    }
+    ArrayDeque<Movement> movements = createMovements(currentMousePosition);
+    if (getTimeMs(movements) <= timeBudgetMs) {
+      return movements;
+    }
+
+    int xDistance = xDest - currentMousePosition.x;
+    int yDistance = yDest - currentMousePosition.y;
+    double distance = Math.hypot(xDistance, yDistance);
+    Movement movement = movements.getFirst();
+    if (movements.size() > 1) {
+      log.debug("Dropping {} overshoots to fit time budget of {} ms", movements.size() - 1, timeBudgetMs);
+      Pair<Flow, Long> flowTime = getFlowWithTime(distance);
+      movement = new Movement(xDest, yDest, distance, xDistance, yDistance, flowTime.y, flowTime.x);
+    }
+    if (movement.time > timeBudgetMs) {
+      log.debug("Scaling movement time {} ms to fit time budget of {} ms", movement.time, timeBudgetMs);
+      movement = new Movement(
+          movement.destX, movement.destY, movement.distance, movement.xDistance, movement.yDistance,
+          timeBudgetMs, movement.flow
+      );
+    }
+    movements.clear();
+    movements.add(movement);
+    return movements;
+  }
+
+  /**
+   * @param movements the movements created with {@link #createMovements(Point, long)}
+   * @param timeBudgetMs the time in ms the movements may take in total
+   * @return the longest reaction time in ms between two movements, so the whole motion fits the budget
+   */
+  public static long getReactionTimeLimitMs(ArrayDeque<Movement> movements, long timeBudgetMs) {
+    if (movements.size() < 2) {
+      return 0;
+    }
+    return Math.max(0, timeBudgetMs - getTimeMs(movements)) / (movements.size() - 1);
+  }
+
+  private static long getTimeMs(ArrayDeque<Movement> movements) {
+    long time = 0;
+    for (Movement movement : movements) {
+      time += movement.time;
+    }
+    return time;
+  }
+
+  private Pair<Flow, Long> getFlowWithTime(double distance) {
+    if (random == null) {
+      return speedManager.getFlowWithTime(distance);
+    }
+    return speedManager.getFlowWithTime(random, distance);
+  }
+
+  private Point getOvershootAmount(double distanceToRealTargetX, double distanceToRealTargetY,
+                                   long mouseMovementMs, int overshootsRemaining) {
+    if (random == null) {
+      return overshootManager.getOvershootAmount(
+          distanceToRealTargetX, distanceToRealTargetY, mouseMovementMs, overshootsRemaining
+      );
+    }
+    return overshootManager.getOvershootAmount(
+        random, distanceToRealTargetX, distanceToRealTargetY, mouseMovementMs, overshootsRemaining
+    );
+  }
+
   private int limitByScreenWidth(int value) {
     return Math.max(0, Math.min(screenSize.width - 1, value));
   }
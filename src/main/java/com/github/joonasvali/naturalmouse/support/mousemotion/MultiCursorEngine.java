@@ -0,0 +1,267 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionObserver;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drives many independent cursors from a single scheduler thread. Every motion is a precomputed
+ * TrajectoryPlan and the engine thread executes the steps of all motions in the order of their deadlines,
+ * so the number of concurrent cursors is not limited by the number of threads.
+ *
+ * Each cursor has its own MouseMotionNature (with its own SystemCalls and MouseInfoAccessor) and Random,
+ * see {@link #createCursor(MouseMotionNature, Random)}. The SystemCalls and observers are called from the
+ * engine thread, so they should be fast, a slow call delays the steps of all the other cursors.
+ *
+ * The deadlines are measured with System.nanoTime.
+ */
+public class MultiCursorEngine implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(MultiCursorEngine.class);
+  private final PriorityQueue<Playback> queue = new PriorityQueue<>(
+      (a, b) -> Long.compare(a.deadline - b.deadline, 0)
+  );
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition queueChanged = lock.newCondition();
+  private final Condition stepCompleted = lock.newCondition();
+  private final Thread thread;
+  private volatile boolean running = true;
+  // The playback whose step is being executed outside the lock, guarded by the lock.
+  private Playback executing;
+
+  public MultiCursorEngine() {
+    this("naturalmouse-engine");
+  }
+
+  /**
+   * @param threadName the name of the scheduler thread
+   */
+  public MultiCursorEngine(String threadName) {
+    thread = new Thread(this::runLoop, threadName);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Creates a new cursor driven by this engine.
+   *
+   * @param nature the nature of the cursor, the cursor is moved with its SystemCalls and its position
+   *               is read with its MouseInfoAccessor.
+   * @param random the random used for the motions of this cursor
+   * @return the cursor
+   */
+  public VirtualCursor createCursor(MouseMotionNature nature, Random random) {
+    return new VirtualCursor(this, nature, random);
+  }
+
+  /**
+   * Starts executing a precomputed plan on the engine thread.
+   *
+   * @param systemCalls the system calls where the steps are sent to
+   * @param plan the plan to execute
+   * @param observer the observer called on every step from the engine thread
+   * @return the future which completes when the plan is fully played. Cancelling the future removes the
+   * playback from the queue, a step which is already being executed still completes.
+   * @see #cancel(CompletableFuture)
+   */
+  public CompletableFuture<Void> play(SystemCalls systemCalls, TrajectoryPlan plan, MouseMotionObserver observer) {
+    Playback playback = new Playback(systemCalls, plan, observer, System.nanoTime());
+    lock.lock();
+    try {
+      // Checked under the lock, so a motion is never added after the queue is drained on stopping.
+      if (!running) {
+        throw new IllegalStateException("Engine is closed");
+      }
+      queue.add(playback);
+      queueChanged.signal();
+    } finally {
+      lock.unlock();
+    }
+    playback.future.whenComplete((result, e) -> remove(playback));
+    return playback.future;
+  }
+
+  /**
+   * Cancels a motion started with {@link #play(SystemCalls, TrajectoryPlan, MouseMotionObserver)} and waits
+   * until a step of it which is being executed on the engine thread completes, so no more steps of the motion
+   * are sent to the SystemCalls after this returns. When called from the engine thread, e.g. from an observer,
+   * it doesn't wait.
+   *
+   * @param future the future returned by play
+   */
+  public void cancel(CompletableFuture<Void> future) {
+    future.cancel(false);
+    if (Thread.currentThread() == thread) {
+      return;
+    }
+    lock.lock();
+    try {
+      while (executing != null && executing.future == future) {
+        stepCompleted.awaitUninterruptibly();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of motions which are not yet completed
+   */
+  public int getActiveMotions() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stops the engine thread and cancels the motions in progress, including the one whose step is being
+   * executed.
+   */
+  @Override
+  public void close() {
+    List<Playback> remaining;
+    lock.lock();
+    try {
+      running = false;
+      remaining = drain();
+      queueChanged.signal();
+    } finally {
+      lock.unlock();
+    }
+    cancelAll(remaining);
+  }
+
+  // Removes all the motions from the queue, guarded by the lock.
+  private List<Playback> drain() {
+    List<Playback> remaining = new ArrayList<>(queue);
+    queue.clear();
+    if (executing != null) {
+      remaining.add(executing);
+    }
+    return remaining;
+  }
+
+  private static void cancelAll(List<Playback> playbacks) {
+    for (Playback playback : playbacks) {
+      playback.future.cancel(false);
+    }
+  }
+
+  private void remove(Playback playback) {
+    lock.lock();
+    try {
+      if (queue.remove(playback)) {
+        queueChanged.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void runLoop() {
+    lock.lock();
+    try {
+      while (running) {
+        Playback next = queue.peek();
+        if (next == null) {
+          queueChanged.await();
+          continue;
+        }
+        long timeLeft = next.deadline - System.nanoTime();
+        if (timeLeft > 0) {
+          queueChanged.awaitNanos(timeLeft);
+          continue;
+        }
+        queue.poll();
+        if (next.future.isDone()) {
+          continue;
+        }
+        boolean hasMoreSteps;
+        executing = next;
+        // Steps are executed without holding the lock, so new motions can be added meanwhile.
+        lock.unlock();
+        try {
+          hasMoreSteps = next.step();
+        } finally {
+          lock.lock();
+          executing = null;
+          stepCompleted.signalAll();
+        }
+        // Cancelled during the step, it was already removed from the queue.
+        if (hasMoreSteps && !next.future.isDone()) {
+          queue.add(next);
+        }
+      }
+    } catch (InterruptedException e) {
+      log.warn("Engine thread interrupted, stopping.");
+    } finally {
+      // However the loop ends, the motions left in the queue are never executed, so nobody waits for them.
+      running = false;
+      List<Playback> remaining = drain();
+      lock.unlock();
+      cancelAll(remaining);
+    }
+  }
+
+  private static class Playback {
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final SystemCalls systemCalls;
+    private final TrajectoryPlan plan;
+    private final MouseMotionObserver observer;
+    private final long startTime;
+    private long deadline;
+    private int step;
+
+    private Playback(SystemCalls systemCalls, TrajectoryPlan plan, MouseMotionObserver observer, long startTime) {
+      this.systemCalls = systemCalls;
+      this.plan = plan;
+      this.observer = observer;
+      this.startTime = startTime;
+      this.deadline = plan.size() > 0 ? startTime + plan.getTimeNanos(0) : startTime;
+    }
+
+    /**
+     * Executes current step and moves the deadline to the next one.
+     * @return false if the playback is completed.
+     */
+    private boolean step() {
+      try {
+        if (step == plan.size()) {
+          future.complete(null);
+          return false;
+        }
+        int x = plan.getX(step);
+        int y = plan.getY(step);
+        systemCalls.setMousePosition(x, y);
+        observer.observe(x, y);
+        step++;
+        deadline = startTime + (step < plan.size() ? plan.getTimeNanos(step) : plan.getDurationNanos());
+        return true;
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+        return false;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MultiCursorEngine{" +
+        "thread=" + thread.getName() +
+        ", running=" + running +
+        ", activeMotions=" + getActiveMotions() +
+        '}';
+  }
+}
@@ -0,0 +1,128 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionObserver;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a precomputed TrajectoryPlan without blocking the caller. Every step is a separate timed task in a
+ * ScheduledExecutorService, so no thread is parked while waiting between steps and many motions can share
+ * a small pool of threads.
+ */
+public class ScheduledTrajectoryPlayer {
+  private final SystemCalls systemCalls;
+  private final ScheduledExecutorService executor;
+
+  /**
+   * @param systemCalls the system calls used for moving the cursor and measuring time.
+   * @param executor the executor where the steps are scheduled
+   */
+  public ScheduledTrajectoryPlayer(SystemCalls systemCalls, ScheduledExecutorService executor) {
+    this.systemCalls = systemCalls;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts moving the cursor through the steps of the plan.
+   *
+   * @param plan the plan to execute
+   * @param observer Provide observer if you are interested receiving the location of mouse on every step,
+   *                 it's called from the executor threads.
+   * @return the future which completes when the plan is fully played. Cancelling the future stops the
+   * playback, at most the step currently being executed is still completed.
+   */
+  public CompletableFuture<Void> play(TrajectoryPlan plan, MouseMotionObserver observer) {
+    Playback playback = new Playback(plan, observer);
+    playback.future.whenComplete((result, throwable) -> playback.cancelPending());
+    playback.scheduleNext();
+    return playback.future;
+  }
+
+  /**
+   * Get the executor shared by all asynchronous motions which are not given an executor explicitly.
+   * The executor runs on daemon threads, so it doesn't prevent JVM from exiting.
+   *
+   * @return the executor
+   */
+  public static ScheduledExecutorService getSharedExecutor() {
+    return SharedExecutorHolder.EXECUTOR;
+  }
+
+  private class Playback implements Runnable {
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final TrajectoryPlan plan;
+    private final MouseMotionObserver observer;
+    private final long startTime;
+    private volatile ScheduledFuture<?> pending;
+    private int step;
+
+    private Playback(TrajectoryPlan plan, MouseMotionObserver observer) {
+      this.plan = plan;
+      this.observer = observer;
+      this.startTime = systemCalls.nanoTime();
+    }
+
+    @Override
+    public void run() {
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        if (step == plan.size()) {
+          future.complete(null);
+          return;
+        }
+        int x = plan.getX(step);
+        int y = plan.getY(step);
+        systemCalls.setMousePosition(x, y);
+        observer.observe(x, y);
+        step++;
+        scheduleNext();
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    private void scheduleNext() {
+      long deadline = startTime + (step < plan.size() ? plan.getTimeNanos(step) : plan.getDurationNanos());
+      pending = executor.schedule(this, deadline - systemCalls.nanoTime(), TimeUnit.NANOSECONDS);
+      if (future.isDone()) {
+        // Cancelled while scheduling.
+        cancelPending();
+      }
+    }
+
+    private void cancelPending() {
+      ScheduledFuture<?> task = pending;
+      if (task != null) {
+        task.cancel(false);
+      }
+    }
+  }
+
+  private static class SharedExecutorHolder {
+    private static final ScheduledExecutorService EXECUTOR = createSharedExecutor();
+
+    private static ScheduledExecutorService createSharedExecutor() {
+      AtomicInteger counter = new AtomicInteger();
+      ThreadFactory threadFactory = runnable -> {
+        Thread thread = new Thread(runnable, "naturalmouse-scheduler-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      };
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+          Runtime.getRuntime().availableProcessors(), threadFactory
+      );
+      // Cancelled steps should not stay in the queue until their deadline.
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+}
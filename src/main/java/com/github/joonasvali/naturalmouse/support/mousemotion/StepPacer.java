@@ -0,0 +1,98 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+import com.github.joonasvali.naturalmouse.support.CatchUpPolicy;
+import com.github.joonasvali.naturalmouse.support.LagStatistics;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Waits for the steps of a movement to become due, and when the steps fall behind the schedule,
+ * records the lateness and catches up according to the CatchUpPolicy.
+ *
+ * A pacer is used by one motion at a time.
+ */
+public class StepPacer {
+  private final SystemCalls systemCalls;
+  private final WaitStrategy waitStrategy;
+  private final CatchUpPolicy policy;
+  private final LagStatistics statistics;
+  // With STRETCH policy, the share of the planned time left between a step and the end of the schedule
+  // that is actually left after the steps were late. 1 when on schedule.
+  private double pace = 1;
+
+  /**
+   * @param systemCalls the system calls used for measuring time
+   * @param waitStrategy the strategy used for waiting until next step is due
+   * @param policy what to do when the steps are late
+   * @param statistics where the lateness is recorded
+   */
+  public StepPacer(SystemCalls systemCalls, WaitStrategy waitStrategy, CatchUpPolicy policy,
+                   LagStatistics statistics) {
+    this.systemCalls = systemCalls;
+    this.waitStrategy = waitStrategy;
+    this.policy = policy;
+    this.statistics = statistics;
+  }
+
+  /**
+   * Starts a new schedule and waits until its first step is due. The first step is never counted as late,
+   * as the schedule starts with it. If the schedule has no steps, waits until the end of it instead.
+   *
+   * @param deadlines the planned deadline of each step, on the SystemCalls nanosecond clock
+   * @param lastStep the index of the last step, the deadline after it is the end of the schedule
+   * @return the index of the step to execute next
+   * @throws InterruptedException when interrupted
+   */
+  public int awaitFirstStep(IntToLongFunction deadlines, int lastStep) throws InterruptedException {
+    pace = 1;
+    if (lastStep < 0) {
+      return awaitStep(deadlines, 0, lastStep);
+    }
+    waitStrategy.waitUntil(systemCalls, deadlines.applyAsLong(0));
+    return 0;
+  }
+
+  /**
+   * Waits until the next step is due. If it's already late, no waiting is done and depending on the policy,
+   * the overdue steps are skipped or the rest of the steps are spread over the time left until the end.
+   *
+   * @param deadlines the planned deadline of each step, on the SystemCalls nanosecond clock
+   * @param next the index of the step which is due next
+   * @param lastStep the index of the last step which may be skipped to, steps after it are never skipped
+   * @return the index of the step to execute next
+   * @throws InterruptedException when interrupted
+   */
+  public int awaitStep(IntToLongFunction deadlines, int next, int lastStep) throws InterruptedException {
+    statistics.recordStep();
+    long end = deadlines.applyAsLong(lastStep + 1);
+    long deadline = getDeadline(deadlines, next, end);
+    long now = systemCalls.nanoTime();
+    if (now <= deadline) {
+      waitStrategy.waitUntil(systemCalls, deadline);
+      return next;
+    }
+
+    statistics.recordLateStep(now - deadline);
+    if (policy == CatchUpPolicy.SKIP) {
+      while (next < lastStep && deadlines.applyAsLong(next + 1) <= now) {
+        next++;
+        statistics.recordSkippedStep();
+      }
+    } else if (policy == CatchUpPolicy.STRETCH && next <= lastStep) {
+      // From now on the step is due now and the end stays where it was planned.
+      long plannedLeft = end - deadlines.applyAsLong(next);
+      pace = plannedLeft > 0 ? Math.max(0, (end - now) / (double) plannedLeft) : 0;
+    }
+    return next;
+  }
+
+  private long getDeadline(IntToLongFunction deadlines, int step, long end) {
+    long planned = deadlines.applyAsLong(step);
+    if (pace == 1) {
+      return planned;
+    }
+    return end - (long) (pace * (end - planned));
+  }
+}
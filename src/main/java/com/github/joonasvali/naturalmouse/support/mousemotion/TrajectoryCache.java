@@ -0,0 +1,269 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.DeviationProvider;
+import com.github.joonasvali.naturalmouse.api.NoiseProvider;
+import com.github.joonasvali.naturalmouse.api.OvershootManager;
+import com.github.joonasvali.naturalmouse.api.SpeedManager;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of precomputed trajectories. A trajectory relative to its start point only depends on
+ * the displacement (dx, dy) and the nature, so the cached trajectories are stored relative to the start and
+ * translated to the actual start point on use, then clamped to the screen.
+ *
+ * The displacement is quantized, so the nearby displacements share the same entry. The difference between
+ * the quantized and the actual displacement is spread over the steps, so the trajectory still ends exactly
+ * on the destination. Every entry keeps several variants of the trajectory and one of them is picked
+ * randomly, so repeating the same displacement doesn't produce the same path every time.
+ *
+ * The nature is part of the key by identity, together with its settings which affect the planning: the
+ * providers and managers by identity and the step and reaction time values. Changing them doesn't serve
+ * the trajectories planned with the old settings, which are left to be evicted. Changes inside the components,
+ * e.g. {@code DefaultOvershootManager.setOvershoots}, are not seen, the cache should be cleared then.
+ * The least recently used entries are evicted when the cache is full. The cache is thread safe.
+ */
+public class TrajectoryCache {
+  public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+  public static final int DEFAULT_VARIANTS = 8;
+  public static final int DEFAULT_QUANTIZATION_PX = 4;
+  private final int variants;
+  private final int quantizationPx;
+  private final Map<Key, List<TrajectoryPlan>> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public TrajectoryCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_VARIANTS, DEFAULT_QUANTIZATION_PX);
+  }
+
+  /**
+   * @param maximumSize the maximum number of displacements kept in the cache
+   * @param variants the number of different trajectories kept for every displacement
+   * @param quantizationPx the displacements are rounded to multiples of this value
+   */
+  public TrajectoryCache(int maximumSize, int variants, int quantizationPx) {
+    if (maximumSize < 1 || variants < 1 || quantizationPx < 1) {
+      throw new IllegalArgumentException(
+          "Invalid cache configuration: " + maximumSize + " " + variants + " " + quantizationPx
+      );
+    }
+    this.variants = variants;
+    this.quantizationPx = quantizationPx;
+    this.entries = new LinkedHashMap<Key, List<TrajectoryPlan>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, List<TrajectoryPlan>> eldest) {
+        if (size() > maximumSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Get the trajectory from start to destination, either from the cache or by planning a new one.
+   *
+   * @param nature the nature the trajectory is planned with
+   * @param random the random used for picking the variant and planning on cache miss
+   * @param xStart the x-coordinate where the cursor starts
+   * @param yStart the y-coordinate where the cursor starts
+   * @param xDest the x-coordinate of destination
+   * @param yDest the y-coordinate of destination
+   * @param screenSize the screen size, which limits the coordinates of the steps
+   * @return the plan
+   */
+  public TrajectoryPlan plan(MouseMotionNature nature, Random random, int xStart, int yStart,
+                             int xDest, int yDest, Dimension screenSize) {
+    xDest = Math.max(0, Math.min(screenSize.width - 1, xDest));
+    yDest = Math.max(0, Math.min(screenSize.height - 1, yDest));
+    Key key = new Key(nature, quantize(xDest - xStart), quantize(yDest - yStart));
+    if (key.dx == 0 && key.dy == 0) {
+      // Too short to be cached, the residual would be the whole movement.
+      return new TrajectoryPlanner(nature, random, screenSize).plan(xStart, yStart, xDest, yDest);
+    }
+
+    int variant = random.nextInt(variants);
+    TrajectoryPlan relative = null;
+    synchronized (entries) {
+      List<TrajectoryPlan> plans = entries.get(key);
+      if (plans != null && variant < plans.size()) {
+        relative = plans.get(variant);
+      }
+    }
+
+    if (relative != null) {
+      hits.increment();
+    } else {
+      misses.increment();
+      // Planned without holding the lock, so the other threads are not blocked meanwhile.
+      relative = planRelative(nature, random, key.dx, key.dy, screenSize);
+      synchronized (entries) {
+        List<TrajectoryPlan> plans = entries.computeIfAbsent(key, k -> new ArrayList<>(variants));
+        if (plans.size() < variants) {
+          plans.add(relative);
+        }
+      }
+    }
+    return translate(relative, xStart, yStart, xDest, yDest, screenSize);
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the number of displacements in the cache
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Removes all the cached trajectories, the counters are kept.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  private int quantize(int value) {
+    return Math.round(value / (float) quantizationPx) * quantizationPx;
+  }
+
+  private TrajectoryPlan planRelative(MouseMotionNature nature, Random random, int dx, int dy, Dimension screenSize) {
+    // Plans on a virtual screen large enough that only the real screen limits the trajectory later.
+    Dimension virtualScreen = new Dimension(screenSize.width * 2, screenSize.height * 2);
+    int xOrigin = screenSize.width;
+    int yOrigin = screenSize.height;
+    TrajectoryPlan plan = new TrajectoryPlanner(nature, random, virtualScreen)
+        .plan(xOrigin, yOrigin, xOrigin + dx, yOrigin + dy);
+
+    TrajectoryPlan.Builder builder = new TrajectoryPlan.Builder();
+    int step = 0;
+    for (int movement = 0; movement < plan.getMovementCount(); movement++) {
+      for (; step < plan.getMovementEnd(movement); step++) {
+        builder.addStep(plan.getX(step) - xOrigin, plan.getY(step) - yOrigin, plan.getTimeNanos(step));
+      }
+      builder.endMovement();
+    }
+    return builder.build(plan.getDurationNanos());
+  }
+
+  private TrajectoryPlan translate(TrajectoryPlan relative, int xStart, int yStart, int xDest, int yDest,
+                                   Dimension screenSize) {
+    TrajectoryPlan.Builder builder = new TrajectoryPlan.Builder();
+    int size = relative.size();
+    if (size == 0) {
+      return builder.build(0);
+    }
+    // Difference between the actual and the quantized destination, added gradually over the steps.
+    int xResidual = xDest - (xStart + relative.getX(size - 1));
+    int yResidual = yDest - (yStart + relative.getY(size - 1));
+    int step = 0;
+    for (int movement = 0; movement < relative.getMovementCount(); movement++) {
+      for (; step < relative.getMovementEnd(movement); step++) {
+        double progress = (step + 1) / (double) size;
+        int x = xStart + relative.getX(step) + (int) Math.round(xResidual * progress);
+        int y = yStart + relative.getY(step) + (int) Math.round(yResidual * progress);
+        builder.addStep(
+            Math.max(0, Math.min(screenSize.width - 1, x)),
+            Math.max(0, Math.min(screenSize.height - 1, y)),
+            relative.getTimeNanos(step)
+        );
+      }
+      builder.endMovement();
+    }
+    return builder.build(relative.getDurationNanos());
+  }
+
+  private static final class Key {
+    private final MouseMotionNature nature;
+    private final int dx;
+    private final int dy;
+    // The settings of the nature when the trajectory was planned, see TrajectoryPlanner.
+    private final DeviationProvider deviationProvider;
+    private final NoiseProvider noiseProvider;
+    private final SpeedManager speedManager;
+    private final OvershootManager overshootManager;
+    private final double timeToStepsDivider;
+    private final double stepRateHz;
+    private final int minSteps;
+    private final int effectFadeSteps;
+    private final int reactionTimeBaseMs;
+    private final int reactionTimeVariationMs;
+
+    private Key(MouseMotionNature nature, int dx, int dy) {
+      this.nature = nature;
+      this.dx = dx;
+      this.dy = dy;
+      this.deviationProvider = nature.getDeviationProvider();
+      this.noiseProvider = nature.getNoiseProvider();
+      this.speedManager = nature.getSpeedManager();
+      this.overshootManager = nature.getOvershootManager();
+      this.timeToStepsDivider = nature.getTimeToStepsDivider();
+      this.stepRateHz = nature.getStepRateHz();
+      this.minSteps = nature.getMinSteps();
+      this.effectFadeSteps = nature.getEffectFadeSteps();
+      this.reactionTimeBaseMs = nature.getReactionTimeBaseMs();
+      this.reactionTimeVariationMs = nature.getReactionTimeVariationMs();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return nature == other.nature && dx == other.dx && dy == other.dy
+          && deviationProvider == other.deviationProvider
+          && noiseProvider == other.noiseProvider
+          && speedManager == other.speedManager
+          && overshootManager == other.overshootManager
+          && Double.compare(timeToStepsDivider, other.timeToStepsDivider) == 0
+          && Double.compare(stepRateHz, other.stepRateHz) == 0
+          && minSteps == other.minSteps
+          && effectFadeSteps == other.effectFadeSteps
+          && reactionTimeBaseMs == other.reactionTimeBaseMs
+          && reactionTimeVariationMs == other.reactionTimeVariationMs;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * System.identityHashCode(nature) + dx) + dy;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TrajectoryCache{" +
+        "size=" + size() +
+        ", hits=" + getHits() +
+        ", misses=" + getMisses() +
+        ", evictions=" + getEvictions() +
+        '}';
+  }
+}
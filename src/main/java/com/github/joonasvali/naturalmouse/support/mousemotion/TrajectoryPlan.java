@@ -0,0 +1,209 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable, fully computed plan of a mouse motion. Contains every step the cursor visits, including
+ * the overshoot movements, and the time offset from the beginning of the motion when the step should be taken.
+ *
+ * The plan does not know anything about SystemCalls, it can be computed ahead of time, validated or cached
+ * and later executed with TrajectoryPlayer.
+ *
+ * @see TrajectoryPlanner
+ * @see TrajectoryPlayer
+ */
+public class TrajectoryPlan {
+  private final int[] x;
+  private final int[] y;
+  private final long[] timeNanos;
+  private final int[] movementEnds;
+  private final long durationNanos;
+
+  private TrajectoryPlan(int[] x, int[] y, long[] timeNanos, int[] movementEnds, long durationNanos) {
+    this.x = x;
+    this.y = y;
+    this.timeNanos = timeNanos;
+    this.movementEnds = movementEnds;
+    this.durationNanos = durationNanos;
+  }
+
+  /**
+   * @return the number of steps in the plan
+   */
+  public int size() {
+    return x.length;
+  }
+
+  /**
+   * @param step the step index
+   * @return the x-coordinate the cursor is set to on given step
+   */
+  public int getX(int step) {
+    return x[step];
+  }
+
+  /**
+   * @param step the step index
+   * @return the y-coordinate the cursor is set to on given step
+   */
+  public int getY(int step) {
+    return y[step];
+  }
+
+  /**
+   * @param step the step index
+   * @return the time in ns, counted from the beginning of the motion, when the step should be taken
+   */
+  public long getTimeNanos(int step) {
+    return timeNanos[step];
+  }
+
+  /**
+   * @param step the step index
+   * @return the time in ms, counted from the beginning of the motion, when the step should be taken
+   */
+  public long getTimeMs(int step) {
+    return TimeUnit.NANOSECONDS.toMillis(timeNanos[step]);
+  }
+
+  /**
+   * @return the total duration of the motion in ns, counted from the beginning of the motion
+   * until the last step has been fully waited out.
+   */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * @return the total duration of the motion in ms, counted from the beginning of the motion
+   * until the last step has been fully waited out.
+   */
+  public long getDurationMs() {
+    return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+  }
+
+  /**
+   * @return the number of movements (overshoots and the final movement to target) in this plan
+   */
+  public int getMovementCount() {
+    return movementEnds.length;
+  }
+
+  /**
+   * @param movement the index of the movement
+   * @return the step index (exclusive) where given movement ends and next one starts.
+   */
+  public int getMovementEnd(int movement) {
+    return movementEnds[movement];
+  }
+
+  /**
+   * @return a copy of all the x-coordinates in the plan
+   */
+  public int[] getXs() {
+    return x.clone();
+  }
+
+  /**
+   * @return a copy of all the y-coordinates in the plan
+   */
+  public int[] getYs() {
+    return y.clone();
+  }
+
+  /**
+   * @return a copy of all the step times in the plan in ns
+   */
+  public long[] getTimesNanos() {
+    return timeNanos.clone();
+  }
+
+  @Override
+  public String toString() {
+    return "TrajectoryPlan{" +
+        "steps=" + x.length +
+        ", movements=" + movementEnds.length +
+        ", durationMs=" + getDurationMs() +
+        '}';
+  }
+
+  /**
+   * Mutable and reusable container for collecting the steps, which then can be turned into a TrajectoryPlan.
+   */
+  public static class Builder {
+    private static final int INITIAL_CAPACITY = 64;
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private long[] timeNanos = new long[INITIAL_CAPACITY];
+    private int[] movementEnds = new int[4];
+    private int size;
+    private int movements;
+
+    public Builder addStep(int xPos, int yPos, long stepTimeNanos) {
+      if (size == x.length) {
+        int capacity = size * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        timeNanos = Arrays.copyOf(timeNanos, capacity);
+      }
+      x[size] = xPos;
+      y[size] = yPos;
+      timeNanos[size] = stepTimeNanos;
+      size++;
+      return this;
+    }
+
+    /**
+     * Marks the end of the current movement, the following steps belong to next movement.
+     * @return this builder
+     */
+    public Builder endMovement() {
+      if (movements == movementEnds.length) {
+        movementEnds = Arrays.copyOf(movementEnds, movements * 2);
+      }
+      movementEnds[movements++] = size;
+      return this;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    public int getX(int step) {
+      return x[step];
+    }
+
+    public int getY(int step) {
+      return y[step];
+    }
+
+    public long getTimeNanos(int step) {
+      return timeNanos[step];
+    }
+
+    /**
+     * Removes the steps, but keeps the allocated capacity, so the builder can be reused.
+     * @return this builder
+     */
+    public Builder clear() {
+      size = 0;
+      movements = 0;
+      return this;
+    }
+
+    /**
+     * @param durationNanos the total duration of the plan in ns
+     * @return the immutable plan containing a copy of the steps added so far
+     */
+    public TrajectoryPlan build(long durationNanos) {
+      return new TrajectoryPlan(
+          Arrays.copyOf(x, size),
+          Arrays.copyOf(y, size),
+          Arrays.copyOf(timeNanos, size),
+          Arrays.copyOf(movementEnds, movements),
+          durationNanos
+      );
+    }
+  }
+}
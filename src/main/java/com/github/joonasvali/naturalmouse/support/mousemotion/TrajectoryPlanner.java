@@ -0,0 +1,326 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.DeviationProvider;
+import com.github.joonasvali.naturalmouse.api.NoiseProvider;
+import com.github.joonasvali.naturalmouse.api.OvershootManager;
+import com.github.joonasvali.naturalmouse.api.SpeedManager;
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.MutableDoublePoint;
+import com.github.joonasvali.naturalmouse.support.StepProfileCache;
+import com.github.joonasvali.naturalmouse.support.Target;
+import com.github.joonasvali.naturalmouse.util.MathUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the steps the cursor takes during a movement. This contains the trajectory math
+ * (flow, noise, deviation and effect fade), but does not move the cursor or sleep, so the result
+ * can be computed ahead of time and independently from the thread which later executes it.
+ */
+public class TrajectoryPlanner {
+  private static final Logger log = LoggerFactory.getLogger(TrajectoryPlanner.class);
+  private final int minSteps;
+  private final int effectFadeSteps;
+  private final int reactionTimeBaseMs;
+  private final int reactionTimeVariationMs;
+  private final double timeToStepsDivider;
+  // Time between the grid ticks when steps are aligned to a step rate, 0 when not. Whole nanoseconds, so the
+  // grid is aligned in long arithmetic, which keeps nanoTime values far from 0 exactly on the grid.
+  private final long tickNanos;
+  private final Dimension screenSize;
+  private final DeviationProvider deviationProvider;
+  private final NoiseProvider noiseProvider;
+  private final SpeedManager speedManager;
+  private final OvershootManager overshootManager;
+  // Null when the step profiles are not cached.
+  private final StepProfileCache stepProfileCache;
+  private final Random random;
+  // Reused on every step, so the step loop doesn't create garbage.
+  private final MutableDoublePoint deviation = new MutableDoublePoint();
+  // Noise of each step of the movement, grown when a movement has more steps.
+  private double[] xNoise = new double[0];
+  private double[] yNoise = new double[0];
+
+  /**
+   * @param nature the nature that defines how mouse is moved
+   * @param random the random used for unpredictability
+   * @param screenSize the screen size, which limits the coordinates of the steps
+   */
+  public TrajectoryPlanner(MouseMotionNature nature, Random random, Dimension screenSize) {
+    this.deviationProvider = nature.getDeviationProvider();
+    this.noiseProvider = nature.getNoiseProvider();
+    this.speedManager = nature.getSpeedManager();
+    this.overshootManager = nature.getOvershootManager();
+    this.stepProfileCache = nature.getStepProfileCache();
+    this.timeToStepsDivider = nature.getTimeToStepsDivider();
+    this.tickNanos = nature.getStepRateHz() > 0
+        ? Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / nature.getStepRateHz()))
+        : 0;
+    this.minSteps = nature.getMinSteps();
+    this.effectFadeSteps = nature.getEffectFadeSteps();
+    this.reactionTimeBaseMs = nature.getReactionTimeBaseMs();
+    this.reactionTimeVariationMs = nature.getReactionTimeVariationMs();
+    this.screenSize = screenSize;
+    this.random = random;
+  }
+
+  /**
+   * Plans the whole motion from start to destination, including overshoots and the reaction time
+   * between the movements. The plan assumes that the cursor ends up exactly on the pixels it is set to.
+   *
+   * @param xStart the x-coordinate where the cursor starts
+   * @param yStart the y-coordinate where the cursor starts
+   * @param xDest the x-coordinate of destination
+   * @param yDest the y-coordinate of destination
+   * @return the plan
+   */
+  public TrajectoryPlan plan(int xStart, int yStart, int xDest, int yDest) {
+    xDest = limitByScreenWidth(xDest);
+    yDest = limitByScreenHeight(yDest);
+    return plan(xStart, yStart, xDest, yDest, Target.point(xDest, yDest));
+  }
+
+  /**
+   * Plans the whole motion from start to a target area. The motion is aimed at the landing point,
+   * but it's complete as soon as a movement ends inside the target, and nothing is planned
+   * if the start is already inside.
+   *
+   * @param xStart the x-coordinate where the cursor starts
+   * @param yStart the y-coordinate where the cursor starts
+   * @param xDest the x-coordinate of the landing point, see {@link Target#getLandingPoint(Random)}
+   * @param yDest the y-coordinate of the landing point
+   * @param target the target
+   * @return the plan
+   */
+  public TrajectoryPlan plan(int xStart, int yStart, int xDest, int yDest, Target target) {
+    return plan(xStart, yStart, xDest, yDest, target, Long.MAX_VALUE);
+  }
+
+  /**
+   * Plans the whole motion from start to a target area so that it takes at most the given time.
+   * To fit the budget, the reaction time between the movements is limited first, then the overshoots
+   * are dropped and finally the remaining movement is made faster, see
+   * {@link MovementFactory#createMovements(Point, long)}.
+   *
+   * @param xStart the x-coordinate where the cursor starts
+   * @param yStart the y-coordinate where the cursor starts
+   * @param xDest the x-coordinate of the landing point, see {@link Target#getLandingPoint(Random)}
+   * @param yDest the y-coordinate of the landing point
+   * @param target the target
+   * @param timeBudgetMs the time in ms the whole motion may take
+   * @return the plan, its duration is at most the budget. With a step rate every movement takes at least
+   * one tick after the tick it starts on, so a budget shorter than that can't be kept.
+   */
+  public TrajectoryPlan plan(int xStart, int yStart, int xDest, int yDest, Target target, long timeBudgetMs) {
+    xDest = limitByScreenWidth(xDest);
+    yDest = limitByScreenHeight(yDest);
+    TrajectoryPlan.Builder builder = new TrajectoryPlan.Builder();
+    if ((xStart == xDest && yStart == yDest) || target.contains(xStart, yStart)) {
+      return builder.build(0);
+    }
+
+    MovementFactory movementFactory = new MovementFactory(
+        xDest, yDest, target, speedManager, overshootManager, screenSize, random
+    );
+    ArrayDeque<Movement> movements = movementFactory.createMovements(new Point(xStart, yStart), timeBudgetMs);
+    long reactionTimeLimitMs = MovementFactory.getReactionTimeLimitMs(movements, timeBudgetMs);
+    long budgetNanos = timeBudgetMs == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+    // The time the movements after the current one may take at most, which the current one must leave over.
+    long reactionReserveNanos = TimeUnit.MILLISECONDS.toNanos(
+        Math.min(reactionTimeLimitMs, reactionTimeBaseMs + reactionTimeVariationMs)
+    );
+    long reserveNanos = -reactionReserveNanos;
+    for (Movement movement : movements) {
+      reserveNanos += TimeUnit.MILLISECONDS.toNanos(movement.time) + reactionReserveNanos;
+    }
+    int x = xStart;
+    int y = yStart;
+    long time = 0;
+    for (Movement movement : movements) {
+      reserveNanos -= TimeUnit.MILLISECONDS.toNanos(movement.time);
+      long deadlineNanos = budgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : budgetNanos - reserveNanos;
+      time = planMovement(movement, x, y, time, deadlineNanos, builder);
+      builder.endMovement();
+      reserveNanos -= reactionReserveNanos;
+      x = movement.destX;
+      y = movement.destY;
+      if ((x != xDest || y != yDest) && !target.contains(x, y)) {
+        // Overshoot, simulate human reaction time before next movement.
+        long reactionTimeMs = (long) (reactionTimeBaseMs + random.nextDouble() * reactionTimeVariationMs);
+        time += TimeUnit.MILLISECONDS.toNanos(Math.min(reactionTimeMs, reactionTimeLimitMs));
+      }
+    }
+    return builder.build(time);
+  }
+
+  /**
+   * Plans the steps for a single movement and adds them to the builder.
+   *
+   * @param movement the movement
+   * @param xStart the x-coordinate where the cursor is when movement starts
+   * @param yStart the y-coordinate where the cursor is when movement starts
+   * @param startTimeNanos the time in ns when the movement starts
+   * @param out the builder where the steps are added
+   * @return the time in ns when the movement ends
+   */
+  public long planMovement(Movement movement, int xStart, int yStart, long startTimeNanos, TrajectoryPlan.Builder out) {
+    return planMovement(movement, xStart, yStart, startTimeNanos, Long.MAX_VALUE, out);
+  }
+
+  /**
+   * Plans the steps for a single movement and adds them to the builder. With a step rate, the movement starts
+   * on the next tick and its time is rounded to whole ticks, the deadline limits how far that may take it.
+   * The movement still lasts at least one tick.
+   *
+   * @param movement the movement
+   * @param xStart the x-coordinate where the cursor is when movement starts
+   * @param yStart the y-coordinate where the cursor is when movement starts
+   * @param startTimeNanos the time in ns when the movement starts
+   * @param deadlineNanos the time in ns when the movement must have ended, Long.MAX_VALUE for none
+   * @param out the builder where the steps are added
+   * @return the time in ns when the movement ends
+   */
+  public long planMovement(Movement movement, int xStart, int yStart, long startTimeNanos, long deadlineNanos,
+                           TrajectoryPlan.Builder out) {
+    double distance = movement.distance;
+    long mouseMovementMs = movement.time;
+    Flow flow = movement.flow;
+    double xDistance = movement.xDistance;
+    double yDistance = movement.yDistance;
+    if (log.isDebugEnabled()) {
+      log.debug("Movement arc length computed to {} and time predicted to {} ms", distance, mouseMovementMs);
+    }
+
+    int steps;
+    long firstStepNanos = startTimeNanos;
+    long endTimeNanos = startTimeNanos + TimeUnit.MILLISECONDS.toNanos(mouseMovementMs);
+    if (tickNanos > 0) {
+      // The movement starts on the next tick and lasts whole ticks, there is at most one step per tick.
+      long ticks = Math.round(TimeUnit.MILLISECONDS.toNanos(mouseMovementMs) / (double) tickNanos);
+      firstStepNanos = startTimeNanos + Math.floorMod(-startTimeNanos, tickNanos);
+      if (deadlineNanos != Long.MAX_VALUE) {
+        ticks = Math.min(ticks, Math.floorDiv(deadlineNanos - firstStepNanos, tickNanos));
+      }
+      ticks = Math.max(1, ticks);
+      endTimeNanos = firstStepNanos + ticks * tickNanos;
+      steps = (int) Math.ceil(Math.min(distance, ticks));
+    } else {
+      /* Number of steps is calculated from the movement time and limited by minimal amount of steps
+         (should have at least MIN_STEPS) and distance (shouldn't have more steps than pixels travelled) */
+      steps = (int) Math.ceil(Math.min(distance, Math.max(mouseMovementMs / timeToStepsDivider, minSteps)));
+    }
+
+    // Step times are kept in ns, so the fractions of milliseconds are not lost when dividing the time into steps.
+    double stepTimeNanos = (endTimeNanos - firstStepNanos) / (double) steps;
+
+    // Fractions of the distance for each step, same for both axes.
+    double[] stepProfile = stepProfileCache != null
+        ? stepProfileCache.getProfile(flow, steps)
+        : flow.getStepFractions(steps);
+
+    double simulatedMouseX = xStart;
+    double simulatedMouseY = yStart;
+
+    double deviationMultiplierX = (random.nextDouble() - 0.5) * 2;
+    double deviationMultiplierY = (random.nextDouble() - 0.5) * 2;
+
+    // Noise of the whole movement is generated at once, the step loop only accumulates it.
+    if (xNoise.length < steps) {
+      xNoise = new double[steps];
+      yNoise = new double[steps];
+    }
+    noiseProvider.getNoise(random, stepProfile, xDistance, yDistance, xNoise, yNoise);
+
+    double completedXDistance = 0;
+    double completedYDistance = 0;
+    double noiseX = 0;
+    double noiseY = 0;
+    int lastX = xStart;
+    int lastY = yStart;
+
+    for (int i = 0; i < steps; i++) {
+      // All steps take equal amount of time. This is a value from 0...1 describing how far along the process is.
+      double timeCompletion = i / (double) steps;
+
+      double effectFadeStep = Math.max(i - (steps - effectFadeSteps) + 1, 0);
+      // value from 0 to 1, when effectFadeSteps remaining steps, starts to decrease to 0 linearly
+      // This is here so noise and deviation wouldn't add offset to mouse final position, when we need accuracy.
+      double effectFadeMultiplier = (effectFadeSteps - effectFadeStep) / effectFadeSteps;
+
+      double xStepSize = stepProfile[i] * xDistance;
+      double yStepSize = stepProfile[i] * yDistance;
+
+      completedXDistance += xStepSize;
+      completedYDistance += yStepSize;
+      double completedDistance = Math.hypot(completedXDistance, completedYDistance);
+      double completion = Math.min(1, completedDistance / distance);
+
+      deviationProvider.getDeviation(distance, completion, deviation);
+
+      noiseX += xNoise[i];
+      noiseY += yNoise[i];
+      simulatedMouseX += xStepSize;
+      simulatedMouseY += yStepSize;
+
+      // Guarded, so the arguments wouldn't be boxed on every step when trace is off.
+      if (log.isTraceEnabled()) {
+        log.trace("Step: x: {} y: {} tc: {} c: {}", xStepSize, yStepSize, timeCompletion, completion);
+        log.trace("EffectFadeMultiplier: {}", effectFadeMultiplier);
+        log.trace("SimulatedMouse: [{}, {}]", simulatedMouseX, simulatedMouseY);
+      }
+
+      int mousePosX = MathUtil.roundTowards(
+          simulatedMouseX +
+          deviation.getX() * deviationMultiplierX * effectFadeMultiplier +
+          noiseX * effectFadeMultiplier,
+          movement.destX
+      );
+
+      int mousePosY = MathUtil.roundTowards(
+          simulatedMouseY +
+          deviation.getY() * deviationMultiplierY * effectFadeMultiplier +
+          noiseY * effectFadeMultiplier,
+          movement.destY
+      );
+
+      mousePosX = limitByScreenWidth(mousePosX);
+      mousePosY = limitByScreenHeight(mousePosY);
+
+      if (mousePosX == lastX && mousePosY == lastY) {
+        // The cursor is already there, e.g. in the 0-buckets of the flow. The step is left out, so the time
+        // until the next step, or the end of the movement, is spent in a single wait.
+        continue;
+      }
+      lastX = mousePosX;
+      lastY = mousePosY;
+      out.addStep(mousePosX, mousePosY, firstStepNanos + getStepOffsetNanos(stepTimeNanos, i));
+    }
+    if (steps == 0) {
+      // Nothing to move, so no time is spent either.
+      return startTimeNanos;
+    }
+    return endTimeNanos;
+  }
+
+  private long getStepOffsetNanos(double stepTimeNanos, int step) {
+    if (tickNanos > 0) {
+      // When there are less steps than ticks, the steps are spread over the ticks.
+      return Math.round(stepTimeNanos * step / tickNanos) * tickNanos;
+    }
+    return (long) (stepTimeNanos * step);
+  }
+
+  private int limitByScreenWidth(int value) {
+    return Math.max(0, Math.min(screenSize.width - 1, value));
+  }
+
+  private int limitByScreenHeight(int value) {
+    return Math.max(0, Math.min(screenSize.height - 1, value));
+  }
+}
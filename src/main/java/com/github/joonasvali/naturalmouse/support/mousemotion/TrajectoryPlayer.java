@@ -0,0 +1,81 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionObserver;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+import com.github.joonasvali.naturalmouse.support.CatchUpPolicy;
+import com.github.joonasvali.naturalmouse.support.LagStatistics;
+import com.github.joonasvali.naturalmouse.support.SleepWaitStrategy;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Executes a precomputed TrajectoryPlan by setting the cursor to the planned positions at planned times.
+ * No trajectory calculations are done while playing.
+ */
+public class TrajectoryPlayer {
+  private final SystemCalls systemCalls;
+  private final WaitStrategy waitStrategy;
+  private final CatchUpPolicy policy;
+  private final LagStatistics statistics;
+
+  /**
+   * @param systemCalls the system calls used for moving the cursor and sleeping.
+   */
+  public TrajectoryPlayer(SystemCalls systemCalls) {
+    this(systemCalls, new SleepWaitStrategy());
+  }
+
+  /**
+   * @param systemCalls the system calls used for moving the cursor and measuring time.
+   * @param waitStrategy the strategy used for waiting until next step is due.
+   */
+  public TrajectoryPlayer(SystemCalls systemCalls, WaitStrategy waitStrategy) {
+    this(systemCalls, waitStrategy, CatchUpPolicy.EXECUTE_ALL, new LagStatistics());
+  }
+
+  /**
+   * @param systemCalls the system calls used for moving the cursor and measuring time.
+   * @param waitStrategy the strategy used for waiting until next step is due.
+   * @param policy what to do when the steps fall behind the schedule.
+   * @param statistics where the lateness of the steps is recorded.
+   */
+  public TrajectoryPlayer(SystemCalls systemCalls, WaitStrategy waitStrategy, CatchUpPolicy policy,
+                          LagStatistics statistics) {
+    this.systemCalls = systemCalls;
+    this.waitStrategy = waitStrategy;
+    this.policy = policy;
+    this.statistics = statistics;
+  }
+
+  /**
+   * Blocking call, moves the cursor through the steps of the plan.
+   *
+   * @param plan the plan to execute
+   * @throws InterruptedException when interrupted
+   */
+  public void play(TrajectoryPlan plan) throws InterruptedException {
+    play(plan, (x, y) -> {
+    });
+  }
+
+  /**
+   * Blocking call, moves the cursor through the steps of the plan.
+   *
+   * @param plan the plan to execute
+   * @param observer Provide observer if you are interested receiving the location of mouse on every step
+   * @throws InterruptedException when interrupted
+   */
+  public void play(TrajectoryPlan plan, MouseMotionObserver observer) throws InterruptedException {
+    long startTime = systemCalls.nanoTime();
+    StepPacer pacer = new StepPacer(systemCalls, waitStrategy, policy, statistics);
+    int lastStep = plan.size() - 1;
+    IntToLongFunction deadlines = step -> startTime + (step <= lastStep ? plan.getTimeNanos(step) : plan.getDurationNanos());
+    for (int i = pacer.awaitFirstStep(deadlines, lastStep); i <= lastStep; i = pacer.awaitStep(deadlines, i + 1, lastStep)) {
+      int x = plan.getX(i);
+      int y = plan.getY(i);
+      systemCalls.setMousePosition(x, y);
+      observer.observe(x, y);
+    }
+  }
+}
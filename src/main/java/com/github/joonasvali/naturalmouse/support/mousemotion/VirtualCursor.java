@@ -0,0 +1,108 @@
+package com.github.joonasvali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseInfoAccessor;
+import com.github.joonasvali.naturalmouse.api.MouseMotionObserver;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single cursor driven by a MultiCursorEngine. The cursor has its own nature and random, so the motions of
+ * different cursors are independent of each other. Motions are planned on the calling thread and executed
+ * on the engine thread.
+ *
+ * @see MultiCursorEngine#createCursor(MouseMotionNature, Random)
+ */
+public class VirtualCursor {
+  private final MultiCursorEngine engine;
+  private final MouseMotionNature nature;
+  private final Random random;
+  private final SystemCalls systemCalls;
+  private final MouseInfoAccessor mouseInfo;
+  private final TrajectoryPlanner planner;
+  private volatile CompletableFuture<Void> current;
+
+  VirtualCursor(MultiCursorEngine engine, MouseMotionNature nature, Random random) {
+    this.engine = engine;
+    this.nature = nature;
+    this.random = random;
+    this.systemCalls = nature.getSystemCalls();
+    this.mouseInfo = nature.getMouseInfo();
+    this.planner = new TrajectoryPlanner(nature, random, systemCalls.getScreenSize());
+  }
+
+  /**
+   * Non-blocking call, starts to move this cursor to the specified location from where it currently is.
+   *
+   * @param xDest the x-coordinate of destination
+   * @param yDest the y-coordinate of destination
+   * @return the future which completes when the cursor has reached the destination.
+   * @see #moveTo(int, int, MouseMotionObserver)
+   */
+  public CompletableFuture<Void> moveTo(int xDest, int yDest) {
+    return moveTo(xDest, yDest, (x, y) -> {
+    });
+  }
+
+  /**
+   * Non-blocking call, starts to move this cursor to the specified location from where it currently is.
+   * If the previous motion of this cursor is still in progress, it is cancelled and the new motion starts
+   * from the position where the cursor was left.
+   *
+   * @param xDest the x-coordinate of destination
+   * @param yDest the y-coordinate of destination
+   * @param observer Provide observer if you are interested receiving the location of mouse on every step,
+   *                 it's called from the engine thread.
+   * @return the future which completes when the cursor has reached the destination. Cancelling the future
+   * stops the movement before the next step, use {@link #cancel()} to also wait for a step in progress.
+   */
+  public CompletableFuture<Void> moveTo(int xDest, int yDest, MouseMotionObserver observer) {
+    while (true) {
+      CompletableFuture<Void> previous;
+      synchronized (this) {
+        previous = current;
+        if (previous == null) {
+          Point position = mouseInfo.getMousePosition();
+          TrajectoryCache cache = nature.getTrajectoryCache();
+          TrajectoryPlan plan = cache != null
+              ? cache.plan(nature, random, position.x, position.y, xDest, yDest, systemCalls.getScreenSize())
+              : planner.plan(position.x, position.y, xDest, yDest);
+          current = engine.play(systemCalls, plan, observer);
+          return current;
+        }
+        current = null;
+      }
+      // Waited for without holding the monitor, an observer of the cancelled motion may call this cursor.
+      // If another motion was started meanwhile, it's cancelled on the next round.
+      engine.cancel(previous);
+    }
+  }
+
+  /**
+   * Cancels the motion in progress, if any, and waits until a step of it which is being executed completes,
+   * so the cursor doesn't move after this returns.
+   *
+   * @see MultiCursorEngine#cancel(CompletableFuture)
+   */
+  public void cancel() {
+    CompletableFuture<Void> previous;
+    synchronized (this) {
+      previous = current;
+      current = null;
+    }
+    if (previous != null) {
+      engine.cancel(previous);
+    }
+  }
+
+  /**
+   * @return true if this cursor has a motion which is not yet completed
+   */
+  public boolean isMoving() {
+    CompletableFuture<Void> current = this.current;
+    return current != null && !current.isDone();
+  }
+}
@@ -0,0 +1,187 @@
+package com.github.joonasvali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The compact binary format of BinaryTrajectoryWriter and BinaryTrajectoryReader.
+ *
+ * <pre>
+ * file:   magic(int) version(int) record* index footer
+ * record: id(varint) seed(long) steps(varint) movements(varint) movementEnd(varint delta)*
+ *         duration(varint) x(zigzag) y(zigzag) time(varint) (dx(zigzag) dy(zigzag) dt(zigzag))*
+ * index:  recordOffset(long)*
+ * footer: indexOffset(long) recordCount(long) magic(int)
+ * </pre>
+ *
+ * The steps are delta encoded, so a typical step takes 3 to 5 bytes. Integers are big endian.
+ */
+final class BinaryTrajectoryFormat {
+  static final int MAGIC = 0x4E4D5452; // "NMTR"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+  static final int FOOTER_SIZE = 20;
+
+  private BinaryTrajectoryFormat() {
+  }
+
+  /**
+   * Growable byte array where a record is encoded before it's written.
+   */
+  static final class Encoder {
+    private byte[] bytes = new byte[1024];
+    private int size;
+
+    void reset() {
+      size = 0;
+    }
+
+    byte[] bytes() {
+      return bytes;
+    }
+
+    int size() {
+      return size;
+    }
+
+    void writeRecord(long id, long seed, TrajectoryPlan plan) {
+      writeVarLong(id);
+      writeLong(seed);
+      writeVarLong(plan.size());
+      writeVarLong(plan.getMovementCount());
+      int lastEnd = 0;
+      for (int i = 0; i < plan.getMovementCount(); i++) {
+        writeVarLong(plan.getMovementEnd(i) - lastEnd);
+        lastEnd = plan.getMovementEnd(i);
+      }
+      writeVarLong(plan.getDurationNanos());
+      int lastX = 0;
+      int lastY = 0;
+      long lastTime = 0;
+      for (int i = 0; i < plan.size(); i++) {
+        writeZigZag(plan.getX(i) - lastX);
+        writeZigZag(plan.getY(i) - lastY);
+        if (i == 0) {
+          writeVarLong(plan.getTimeNanos(i));
+        } else {
+          writeZigZag(plan.getTimeNanos(i) - lastTime);
+        }
+        lastX = plan.getX(i);
+        lastY = plan.getY(i);
+        lastTime = plan.getTimeNanos(i);
+      }
+    }
+
+    void writeInt(int value) {
+      ensureCapacity(4);
+      for (int shift = 24; shift >= 0; shift -= 8) {
+        bytes[size++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeLong(long value) {
+      ensureCapacity(8);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        bytes[size++] = (byte) (value >>> shift);
+      }
+    }
+
+    private void writeZigZag(long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+  }
+
+  /**
+   * Reads a record from a buffer with absolute gets, so the buffer can be shared between threads.
+   */
+  static final class Decoder {
+    private final ByteBuffer buffer;
+    private int position;
+
+    Decoder(ByteBuffer buffer, int position) {
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    long readId() {
+      return readVarLong();
+    }
+
+    long readSeed() {
+      long value = buffer.getLong(position);
+      position += 8;
+      return value;
+    }
+
+    TrajectoryPlan readPlan() {
+      int steps = (int) readVarLong();
+      int movements = (int) readVarLong();
+      int[] movementEnds = new int[movements];
+      int lastEnd = 0;
+      for (int i = 0; i < movements; i++) {
+        lastEnd += (int) readVarLong();
+        movementEnds[i] = lastEnd;
+      }
+      long duration = readVarLong();
+      TrajectoryPlan.Builder builder = new TrajectoryPlan.Builder();
+      int x = 0;
+      int y = 0;
+      long time = 0;
+      int movement = 0;
+      while (movement < movements && movementEnds[movement] == 0) {
+        builder.endMovement();
+        movement++;
+      }
+      for (int i = 0; i < steps; i++) {
+        x += (int) readZigZag();
+        y += (int) readZigZag();
+        time = i == 0 ? readVarLong() : time + readZigZag();
+        builder.addStep(x, y, time);
+        while (movement < movements && movementEnds[movement] == i + 1) {
+          builder.endMovement();
+          movement++;
+        }
+      }
+      while (movement < movements) {
+        // Empty movements at the end.
+        builder.endMovement();
+        movement++;
+      }
+      return builder.build(duration);
+    }
+
+    private long readZigZag() {
+      long value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarLong() {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = buffer.get(position++);
+        value |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.github.joonasvali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionObserver;
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlayer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reads the trajectories written by BinaryTrajectoryWriter. The file is memory mapped, so only the index
+ * of the records is kept in heap, and a trajectory is decoded only when it's requested. Files larger than 2GB
+ * are mapped in several segments.
+ *
+ * The reader is thread safe.
+ */
+public class BinaryTrajectoryReader implements Closeable {
+  private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+  private final FileChannel channel;
+  private final long[] offsets;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private final long[] segmentStarts;
+  // Index of the segment containing each record.
+  private final int[] recordSegments;
+
+  /**
+   * @param path the file written by BinaryTrajectoryWriter
+   * @throws IOException when the file can't be read or is not in the expected format
+   */
+  public BinaryTrajectoryReader(Path path) throws IOException {
+    channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      long fileSize = channel.size();
+      if (fileSize < BinaryTrajectoryFormat.HEADER_SIZE + BinaryTrajectoryFormat.FOOTER_SIZE) {
+        throw new IOException("Not a trajectory file: " + path);
+      }
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryTrajectoryFormat.HEADER_SIZE);
+      MappedByteBuffer footer = channel.map(
+          FileChannel.MapMode.READ_ONLY, fileSize - BinaryTrajectoryFormat.FOOTER_SIZE, BinaryTrajectoryFormat.FOOTER_SIZE
+      );
+      if (header.getInt(0) != BinaryTrajectoryFormat.MAGIC || footer.getInt(16) != BinaryTrajectoryFormat.MAGIC) {
+        throw new IOException("Not a complete trajectory file: " + path);
+      }
+      if (header.getInt(4) != BinaryTrajectoryFormat.VERSION) {
+        throw new IOException("Unsupported trajectory file version " + header.getInt(4) + ": " + path);
+      }
+      long indexOffset = footer.getLong(0);
+      int count = (int) footer.getLong(8);
+
+      offsets = new long[count];
+      MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, count * 8L);
+      for (int i = 0; i < count; i++) {
+        offsets[i] = index.getLong(i * 8);
+      }
+
+      // Segments start at record boundaries, so a record never spans two segments.
+      recordSegments = new int[count];
+      List<Long> starts = new ArrayList<>();
+      long segmentStart = BinaryTrajectoryFormat.HEADER_SIZE;
+      for (int i = 0; i < count; i++) {
+        long recordEnd = i + 1 < count ? offsets[i + 1] : indexOffset;
+        if (recordEnd - segmentStart > MAX_SEGMENT_SIZE) {
+          mapSegment(starts, segmentStart, offsets[i]);
+          segmentStart = offsets[i];
+        }
+        recordSegments[i] = starts.size();
+      }
+      mapSegment(starts, segmentStart, indexOffset);
+      segmentStarts = starts.stream().mapToLong(Long::longValue).toArray();
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of trajectories in the file
+   */
+  public int size() {
+    return offsets.length;
+  }
+
+  /**
+   * @param record the position of the trajectory in the file
+   * @return the trajectory
+   */
+  public TrajectoryPlan read(int record) {
+    BinaryTrajectoryFormat.Decoder decoder = decoder(record);
+    decoder.readId();
+    decoder.readSeed();
+    return decoder.readPlan();
+  }
+
+  /**
+   * @param record the position of the trajectory in the file
+   * @return the id the trajectory was written with, e.g. the index given by TrajectoryGenerator
+   */
+  public long getId(int record) {
+    return decoder(record).readId();
+  }
+
+  /**
+   * @param record the position of the trajectory in the file
+   * @return the seed the trajectory was written with
+   */
+  public long getSeed(int record) {
+    BinaryTrajectoryFormat.Decoder decoder = decoder(record);
+    decoder.readId();
+    return decoder.readSeed();
+  }
+
+  /**
+   * @param random the random used for choosing
+   * @return a randomly chosen trajectory from the file
+   */
+  public TrajectoryPlan sample(Random random) {
+    return read(random.nextInt(offsets.length));
+  }
+
+  /**
+   * Blocking call, replays the recorded trajectory through the system calls.
+   *
+   * @param record the position of the trajectory in the file
+   * @param systemCalls the system calls used for moving the cursor and measuring time
+   * @param observer Provide observer if you are interested receiving the location of mouse on every step
+   * @throws InterruptedException when interrupted
+   */
+  public void play(int record, SystemCalls systemCalls, MouseMotionObserver observer) throws InterruptedException {
+    new TrajectoryPlayer(systemCalls).play(read(record), observer);
+  }
+
+  @Override
+  public void close() throws IOException {
+    // The mapped segments are released when they are garbage collected.
+    channel.close();
+  }
+
+  private BinaryTrajectoryFormat.Decoder decoder(int record) {
+    int segment = recordSegments[record];
+    return new BinaryTrajectoryFormat.Decoder(
+        segments.get(segment), (int) (offsets[record] - segmentStarts[segment])
+    );
+  }
+
+  private void mapSegment(List<Long> starts, long start, long end) throws IOException {
+    starts.add(start);
+    segments.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.joonasvali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes trajectories in a compact binary format, which can be read with BinaryTrajectoryReader.
+ * The steps are delta and varint encoded and the file ends with an index of the records, so the reader
+ * can access any trajectory directly. The file is complete only after {@link #close()}. If a write fails,
+ * the file is left without the index, so it's never mistaken for a complete one, and the following writes fail.
+ *
+ * Every trajectory is encoded on the calling thread and then written as a single block,
+ * so the writer can be used as a TrajectorySink of TrajectoryGenerator.
+ */
+public class BinaryTrajectoryWriter implements TrajectorySink, Closeable {
+  private static final ThreadLocal<BinaryTrajectoryFormat.Encoder> ENCODER =
+      ThreadLocal.withInitial(BinaryTrajectoryFormat.Encoder::new);
+  private final OutputStream out;
+  private long position;
+  private long[] offsets = new long[1024];
+  private int count;
+  private boolean closed;
+  // Set when a write fails, the output then ends in a partial record.
+  private Exception failure;
+
+  /**
+   * @param path the file to write, it's overwritten if it exists
+   * @throws IOException when the file can't be created
+   */
+  public BinaryTrajectoryWriter(Path path) throws IOException {
+    this(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+  }
+
+  /**
+   * @param out the stream where the trajectories are written, closed by {@link #close()}
+   *            or if writing the header fails
+   * @throws IOException when writing the header fails
+   */
+  public BinaryTrajectoryWriter(OutputStream out) throws IOException {
+    this.out = out;
+    BinaryTrajectoryFormat.Encoder header = new BinaryTrajectoryFormat.Encoder();
+    header.writeInt(BinaryTrajectoryFormat.MAGIC);
+    header.writeInt(BinaryTrajectoryFormat.VERSION);
+    try {
+      write(header);
+    } catch (IOException | RuntimeException e) {
+      // The caller gets no writer to close, so the file is closed here.
+      try {
+        out.close();
+      } catch (IOException closeFailure) {
+        e.addSuppressed(closeFailure);
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public void accept(long index, long seed, TrajectoryPlan plan) throws IOException {
+    BinaryTrajectoryFormat.Encoder encoder = ENCODER.get();
+    encoder.reset();
+    encoder.writeRecord(index, seed, plan);
+    synchronized (this) {
+      if (closed) {
+        throw new IOException("Writer is closed");
+      }
+      checkNotFailed();
+      long offset = position;
+      try {
+        write(encoder);
+      } catch (IOException | RuntimeException e) {
+        failure = e;
+        throw e;
+      }
+      if (count == offsets.length) {
+        offsets = Arrays.copyOf(offsets, count * 2);
+      }
+      offsets[count++] = offset;
+    }
+  }
+
+  /**
+   * @return the number of trajectories written so far
+   */
+  public synchronized int size() {
+    return count;
+  }
+
+  /**
+   * Writes the index and closes the file. If a write has failed, the file is closed without the index.
+   * @throws IOException when writing fails or has failed before
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      checkNotFailed();
+      long indexOffset = position;
+      BinaryTrajectoryFormat.Encoder index = new BinaryTrajectoryFormat.Encoder();
+      for (int i = 0; i < count; i++) {
+        index.writeLong(offsets[i]);
+      }
+      index.writeLong(indexOffset);
+      index.writeLong(count);
+      index.writeInt(BinaryTrajectoryFormat.MAGIC);
+      write(index);
+    } finally {
+      out.close();
+    }
+  }
+
+  private void checkNotFailed() throws IOException {
+    if (failure != null) {
+      throw new IOException("A previous write failed, the file is incomplete", failure);
+    }
+  }
+
+  private void write(BinaryTrajectoryFormat.Encoder encoder) throws IOException {
+    out.write(encoder.bytes(), 0, encoder.size());
+    position += encoder.size();
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.joonasvali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes trajectories as CSV, one step per line: index,seed,step,x,y,timeNanos
+ * Every trajectory is formatted on the calling thread and then written as a single block,
+ * so the steps of different trajectories are never interleaved.
+ */
+public class CsvTrajectoryWriter implements TrajectorySink, Flushable, Closeable {
+  public static final String HEADER = "index,seed,step,x,y,timeNanos";
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+  private final Writer writer;
+
+  /**
+   * @param writer the writer where the lines are written, it's recommended to be buffered.
+   * @throws IOException when the header can't be written
+   */
+  public CsvTrajectoryWriter(Writer writer) throws IOException {
+    this.writer = writer;
+    writer.write(HEADER);
+    writer.write('\n');
+  }
+
+  @Override
+  public void accept(long index, long seed, TrajectoryPlan plan) throws IOException {
+    StringBuilder buffer = BUFFER.get();
+    buffer.setLength(0);
+    for (int i = 0; i < plan.size(); i++) {
+      buffer.append(index).append(',')
+          .append(seed).append(',')
+          .append(i).append(',')
+          .append(plan.getX(i)).append(',')
+          .append(plan.getY(i)).append(',')
+          .append(plan.getTimeNanos(i)).append('\n');
+    }
+    synchronized (writer) {
+      writer.append(buffer);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    synchronized (writer) {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (writer) {
+      writer.close();
+    }
+  }
+}
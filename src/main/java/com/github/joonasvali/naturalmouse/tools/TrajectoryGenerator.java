@@ -0,0 +1,165 @@
+package com.github.joonasvali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.DefaultOvershootManager;
+import com.github.joonasvali.naturalmouse.support.DefaultSpeedManager;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlanner;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Generates large amounts of trajectories in parallel without moving the cursor, sleeping or using AWT.
+ * The trajectories are computed with the same TrajectoryPlanner MouseMotion uses, between random start and
+ * destination points on the screen, and streamed to a TrajectorySink as soon as they are ready.
+ *
+ * Every trajectory gets its own seed, which is derived from the seed of the batch by splitting a SplittableRandom,
+ * so running a batch again with the same seed, count and batch size produces exactly the same trajectories
+ * regardless of the number of threads. A single trajectory can be reproduced with {@link #generateOne(long)}.
+ * For this to hold, every random component of the nature has to use the Random given to the nature factory.
+ */
+public class TrajectoryGenerator {
+  public static final int DEFAULT_BATCH_SIZE = 256;
+  private final Function<Random, MouseMotionNature> natureFactory;
+  private final Dimension screenSize;
+  private final ForkJoinPool pool;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  /**
+   * Creates a generator using the default nature and the common ForkJoinPool.
+   *
+   * @param screenSize the size of the screen the trajectories are generated on
+   */
+  public TrajectoryGenerator(Dimension screenSize) {
+    this(TrajectoryGenerator::createDefaultNature, screenSize, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param natureFactory creates the nature for the given random. It's called once for every batch, and
+   *                      the random is reseeded for every trajectory. The SystemCalls and MouseInfoAccessor
+   *                      of the nature are not used.
+   * @param screenSize the size of the screen the trajectories are generated on
+   * @param pool the pool where the trajectories are computed
+   */
+  public TrajectoryGenerator(Function<Random, MouseMotionNature> natureFactory, Dimension screenSize, ForkJoinPool pool) {
+    this.natureFactory = natureFactory;
+    this.screenSize = screenSize;
+    this.pool = pool;
+  }
+
+  /**
+   * Generates the trajectories in parallel and passes them to the sink. Blocks until all the trajectories
+   * are generated.
+   *
+   * @param seed the seed of the whole run
+   * @param count the number of trajectories
+   * @param sink receives the trajectories, called concurrently from the pool threads
+   * @throws IOException when the sink fails, the remaining trajectories are not generated
+   */
+  public void generate(long seed, long count, TrajectorySink sink) throws IOException {
+    try {
+      pool.invoke(new GenerateTask(0, count, new SplittableRandom(seed), sink));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Generates a single trajectory, which is the same as the one generated with given seed in a batch.
+   *
+   * @param seed the seed of the trajectory as given to the TrajectorySink
+   * @return the trajectory
+   */
+  public TrajectoryPlan generateOne(long seed) {
+    Random random = new SplittableRandomAdapter(seed);
+    return generate(new TrajectoryPlanner(natureFactory.apply(random), random, screenSize), random);
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Set the number of trajectories computed by a single task. The seeds of the trajectories depend on this
+   * value, so it needs to be the same for reproducing a run.
+   * @param batchSize the batch size
+   */
+  public void setBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  private TrajectoryPlan generate(TrajectoryPlanner planner, Random random) {
+    int xStart = random.nextInt(screenSize.width);
+    int yStart = random.nextInt(screenSize.height);
+    int xDest = random.nextInt(screenSize.width);
+    int yDest = random.nextInt(screenSize.height);
+    return planner.plan(xStart, yStart, xDest, yDest);
+  }
+
+  /**
+   * Creates the default nature, with the overshoots and speed drawn from the given random.
+   * @param random the random
+   * @return the nature
+   */
+  public static MouseMotionNature createDefaultNature(Random random) {
+    // Nothing is moved, so no SystemCalls or MouseInfoAccessor is needed.
+    MouseMotionNature nature = new DefaultMouseMotionNature(null, null);
+    nature.setSpeedManager(new DefaultSpeedManager(random));
+    nature.setOvershootManager(new DefaultOvershootManager(random));
+    return nature;
+  }
+
+  private class GenerateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final long from;
+    private final long until;
+    private final SplittableRandom seeds;
+    private final TrajectorySink sink;
+
+    private GenerateTask(long from, long until, SplittableRandom seeds, TrajectorySink sink) {
+      this.from = from;
+      this.until = until;
+      this.seeds = seeds;
+      this.sink = sink;
+    }
+
+    @Override
+    protected void compute() {
+      if (until - from > batchSize) {
+        // Split before forking, so the seeds depend only on the range and not on the scheduling.
+        long middle = from + (until - from) / 2;
+        SplittableRandom upperSeeds = seeds.split();
+        invokeAll(
+            new GenerateTask(from, middle, seeds, sink),
+            new GenerateTask(middle, until, upperSeeds, sink)
+        );
+        return;
+      }
+
+      Random random = new SplittableRandomAdapter();
+      TrajectoryPlanner planner = new TrajectoryPlanner(natureFactory.apply(random), random, screenSize);
+      for (long i = from; i < until; i++) {
+        long seed = seeds.nextLong();
+        random.setSeed(seed);
+        TrajectoryPlan plan = generate(planner, random);
+        try {
+          sink.accept(i, seed, plan);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.github.joonasvali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+
+import java.io.IOException;
+
+/**
+ * Receives the trajectories produced by TrajectoryGenerator. The sink is called concurrently from
+ * the worker threads, so implementations must be thread safe. The trajectories arrive in no particular order,
+ * the index identifies the trajectory within the batch.
+ *
+ * @see CsvTrajectoryWriter
+ */
+public interface TrajectorySink {
+  /**
+   * @param index the index of the trajectory in the batch
+   * @param seed the seed the trajectory was generated with, see {@link TrajectoryGenerator#generateOne(long)}
+   * @param plan the generated trajectory
+   * @throws IOException when the trajectory can't be written
+   */
+  void accept(long index, long seed, TrajectoryPlan plan) throws IOException;
+}
@@ -7,6 +7,7 @@ import com.github.joonasvali.naturalmouse.support.DefaultNoiseProvider;
 import com.github.joonasvali.naturalmouse.support.DefaultOvershootManager;
 import com.github.joonasvali.naturalmouse.support.DefaultSpeedManager;
 import com.github.joonasvali.naturalmouse.support.DoublePoint;
+import com.github.joonasvali.naturalmouse.support.FittsLawSpeedManager;
 import com.github.joonasvali.naturalmouse.support.Flow;
 import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
 import com.github.joonasvali.naturalmouse.support.SinusoidalDeviationProvider;
@@ -173,4 +174,53 @@ public class FactoryTemplates {
     factory.setSpeedManager(manager);
     return factory;
   }
-}
\ No newline at end of file
+
+  /**
+   * <h1>Efficient user whose movement time depends on the distance</h1>
+   * Movement time follows Fitts' law, so small adjustments are quick and long movements take longer.
+   * Low noise, medium deviation, few overshoots.
+   *
+   * @return the factory
+   */
+  public static MouseMotionFactory createFittsLawMotionFactory() {
+    return createFittsLawMotionFactory(new DefaultMouseMotionNature());
+  }
+
+  /**
+   * <h1>Efficient user whose movement time depends on the distance</h1>
+   * Movement time follows Fitts' law, so small adjustments are quick and long movements take longer.
+   * Low noise, medium deviation, few overshoots.
+   *
+   * @param nature the nature for the template to be configured on
+   * @return the factory
+   */
+  public static MouseMotionFactory createFittsLawMotionFactory(MouseMotionNature nature) {
+    MouseMotionFactory factory = new MouseMotionFactory(nature);
+    List<Flow> flows = new ArrayList<>(Arrays.asList(
+        new Flow(FlowTemplates.variatingFlow()),
+        new Flow(FlowTemplates.slowStartupFlow()),
+        new Flow(FlowTemplates.slowStartup2Flow()),
+        new Flow(FlowTemplates.adjustingFlow())
+    ));
+    FittsLawSpeedManager manager = new FittsLawSpeedManager(
+        flows,
+        FittsLawSpeedManager.DEFAULT_INTERCEPT_MS,
+        FittsLawSpeedManager.DEFAULT_SLOPE_MS,
+        FittsLawSpeedManager.DEFAULT_TARGET_WIDTH_PX,
+        FittsLawSpeedManager.DEFAULT_TIME_VARIATION,
+        null
+    );
+    factory.setDeviationProvider(new SinusoidalDeviationProvider(SinusoidalDeviationProvider.DEFAULT_SLOPE_DIVIDER));
+    factory.setNoiseProvider(new DefaultNoiseProvider(DefaultNoiseProvider.DEFAULT_NOISINESS_DIVIDER * 2));
+    factory.getNature().setReactionTimeBaseMs(10);
+    factory.getNature().setReactionTimeVariationMs(60);
+
+    DefaultOvershootManager overshootManager = (DefaultOvershootManager) factory.getOvershootManager();
+    overshootManager.setOvershoots(2);
+    // Overshooting on small adjustments would cost more time than the movement itself.
+    overshootManager.setMinDistanceForOvershoots(100);
+
+    factory.setSpeedManager(manager);
+    return factory;
+  }
+}
@@ -0,0 +1,218 @@
+package com.github.joonasvali.naturalmouse.util;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Resamples flow characteristics to another length in O(flow length + target length) time, without
+ * intermediate arrays or boxing. The result can be written into an array supplied by the caller, so flows
+ * can be generated at runtime without garbage.
+ */
+public class FlowResampler {
+  public enum Mode {
+    /**
+     * Linear interpolation between the values, the first and the last value are kept at the ends.
+     * Gives the same result as {@link FlowUtil#stretchFlow(double[], int)}, which stretches to a length
+     * where the values divide evenly and then reduces back to the target length. When shortening
+     * the flow, same as AREA.
+     */
+    LINEAR,
+    /**
+     * Every value covers an equal part of the flow and every resulting value is the average of the part
+     * it covers, so the average of the flow is preserved. Gives the same result as
+     * {@link FlowUtil#reduceFlow(double[], int)} when shortening the flow.
+     */
+    AREA,
+    /**
+     * Catmull-Rom spline through the values, the first and the last value are kept at the ends.
+     * Smoother than LINEAR, the results are limited to non-negative values.
+     */
+    CUBIC
+  }
+
+  /**
+   * @param flow the original flow
+   * @param targetLength the resulting flow length
+   * @param mode the interpolation
+   * @return new array containing the resulting flow
+   */
+  public static double[] resample(double[] flow, int targetLength, Mode mode) {
+    return resample(flow, new double[targetLength], mode, null);
+  }
+
+  /**
+   * @param flow the original flow
+   * @param out the array where the resulting flow is written, its length is the target length,
+   *            must not be the same array as the flow
+   * @param mode the interpolation
+   * @param modifier modifies the resulting values, or null to keep them as they are
+   * @return the out array
+   */
+  public static double[] resample(double[] flow, double[] out, Mode mode, DoubleUnaryOperator modifier) {
+    if (flow.length == 0 || out.length == 0) {
+      throw new IllegalArgumentException("Bad arguments [" + flow.length + ", " + out.length + "]");
+    }
+    if (flow == out) {
+      throw new IllegalArgumentException("Can't resample in place");
+    }
+    switch (mode) {
+      case LINEAR:
+        linear(flow, out);
+        break;
+      case AREA:
+        area(flow, out);
+        break;
+      case CUBIC:
+        cubic(flow, out);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown mode: " + mode);
+    }
+    if (modifier != null) {
+      for (int i = 0; i < out.length; i++) {
+        out[i] = modifier.applyAsDouble(out[i]);
+      }
+    }
+    return out;
+  }
+
+  private static void linear(double[] flow, double[] out) {
+    int n = flow.length;
+    int target = out.length;
+    if (n == 1) {
+      Arrays.fill(out, flow[0]);
+      return;
+    }
+    if (target < n) {
+      // The samples would be the flow itself, reduced to the target length.
+      area(flow, out);
+      return;
+    }
+    /*
+     * Linear samples of the flow with samplesPerSegment samples between every two values and the last value
+     * at the end. If the target length can't be filled that way, there are so many samples that
+     * they can be, and the samples are reduced to the target length as in AREA mode. The samples
+     * are never created, their sums are calculated in closed form.
+     */
+    long samplesPerSegment;
+    long sampleCount;
+    if ((target - n) % (n - 1) == 0) {
+      samplesPerSegment = (target - 1) / (n - 1);
+      sampleCount = target;
+    } else {
+      samplesPerSegment = target - n;
+      sampleCount = (n - 1) * samplesPerSegment + 1;
+    }
+    LinearSamples samples = new LinearSamples(flow, samplesPerSegment, sampleCount);
+    if (sampleCount == target) {
+      for (int i = 0; i < target; i++) {
+        out[i] = samples.get(i);
+      }
+      return;
+    }
+    double samplesPerValue = sampleCount / (double) target;
+    double from = 0;
+    for (int i = 0; i < target; i++) {
+      double until = samples.sumUntil((i + 1) * samplesPerValue);
+      out[i] = (until - from) / samplesPerValue;
+      from = until;
+    }
+  }
+
+  private static void area(double[] flow, double[] out) {
+    int n = flow.length;
+    int target = out.length;
+    double valuesPerValue = n / (double) target;
+    // Sum of the flow from the beginning until the position, advanced as the positions grow.
+    int index = 0;
+    double sumBeforeIndex = 0;
+    double from = 0;
+    for (int i = 0; i < target; i++) {
+      double position = Math.min(n, (i + 1) * valuesPerValue);
+      while (index < n && index + 1 <= position) {
+        sumBeforeIndex += flow[index];
+        index++;
+      }
+      double until = index < n ? sumBeforeIndex + flow[index] * (position - index) : sumBeforeIndex;
+      out[i] = (until - from) / valuesPerValue;
+      from = until;
+    }
+  }
+
+  private static void cubic(double[] flow, double[] out) {
+    int n = flow.length;
+    int target = out.length;
+    for (int i = 0; i < target; i++) {
+      double position = target == 1 ? (n - 1) / 2d : i * (n - 1) / (double) (target - 1);
+      int segment = Math.min(n - 2, (int) position);
+      if (segment < 0) {
+        out[i] = flow[0];
+        continue;
+      }
+      double t = position - segment;
+      double p0 = flow[Math.max(0, segment - 1)];
+      double p1 = flow[segment];
+      double p2 = flow[segment + 1];
+      double p3 = flow[Math.min(n - 1, segment + 2)];
+      double value = 0.5 * (2 * p1
+          + (p2 - p0) * t
+          + (2 * p0 - 5 * p1 + 4 * p2 - p3) * t * t
+          + (3 * p1 - p0 - 3 * p2 + p3) * t * t * t);
+      out[i] = Math.max(0, value);
+    }
+  }
+
+  /**
+   * Linear samples of the flow, samplesPerSegment samples from every value towards the next one and
+   * the last value as the last sample. The sums are asked for growing positions, so the segment
+   * is tracked instead of searched.
+   */
+  private static class LinearSamples {
+    private final double[] flow;
+    private final long samplesPerSegment;
+    private final long sampleCount;
+    private int segment;
+    private double sumBeforeSegment;
+
+    private LinearSamples(double[] flow, long samplesPerSegment, long sampleCount) {
+      this.flow = flow;
+      this.samplesPerSegment = samplesPerSegment;
+      this.sampleCount = sampleCount;
+    }
+
+    private double get(long sample) {
+      int segment = (int) (sample / samplesPerSegment);
+      if (segment >= flow.length - 1) {
+        return flow[flow.length - 1];
+      }
+      long offset = sample - segment * samplesPerSegment;
+      return flow[segment] + (flow[segment + 1] - flow[segment]) * offset / samplesPerSegment;
+    }
+
+    /**
+     * @param position the sample position, not smaller than on the previous call
+     * @return the sum of the samples before the position, the sample at the position counted partially
+     */
+    private double sumUntil(double position) {
+      long whole = Math.min(sampleCount, (long) position);
+      while (segment < flow.length - 1 && (segment + 1) * samplesPerSegment <= whole) {
+        sumBeforeSegment += getSegmentSum(segment, samplesPerSegment);
+        segment++;
+      }
+      double sum = sumBeforeSegment + getSegmentSum(segment, whole - segment * samplesPerSegment);
+      if (whole < sampleCount) {
+        sum += get(whole) * (position - whole);
+      }
+      return sum;
+    }
+
+    // Sum of the first count samples of the segment.
+    private double getSegmentSum(int segment, long count) {
+      if (segment >= flow.length - 1) {
+        return flow[flow.length - 1] * count;
+      }
+      double difference = flow[segment + 1] - flow[segment];
+      return count * flow[segment] + difference / samplesPerSegment * count * (count - 1) / 2d;
+    }
+  }
+}
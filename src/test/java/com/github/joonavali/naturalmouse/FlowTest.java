@@ -179,4 +179,35 @@ public class FlowTest {
     double sum = step1 + step2 + step3 + step4 + step5;
     Assertions.assertEquals(500d, sum, SMALL_DELTA);
   }
+
+  @Test
+  public void stepFractionMatchesBucketContents() {
+    double[] characteristics = {8, 20, 39, 0, 0, 0, 3, 6, 100, 103, 1};
+    Flow flow = new Flow(characteristics);
+    double[] buckets = flow.getFlowCharacteristics();
+    for (int steps : new int[]{1, 3, 7, 11, 50, 333}) {
+      double sum = 0;
+      for (int i = 0; i < steps; i++) {
+        double completion = i / (double) steps;
+        double from = completion * buckets.length;
+        double until = (completion + 1d / steps) * buckets.length;
+        double expected = sumBuckets(buckets, from, until) / (buckets.length * 100);
+        double fraction = flow.getStepFraction(steps, completion);
+        Assertions.assertEquals(expected, fraction, SMALL_DELTA);
+        Assertions.assertEquals(fraction * 250, flow.getStepSize(250, steps, completion), SMALL_DELTA);
+        sum += fraction;
+      }
+      Assertions.assertEquals(1d, sum, SMALL_DELTA);
+    }
+  }
+
+  private static double sumBuckets(double[] buckets, double from, double until) {
+    double sum = 0;
+    for (int i = (int) from; i < until && i < buckets.length; i++) {
+      double start = Math.max(from, i);
+      double end = Math.min(until, i + 1);
+      sum += buckets[i] * (end - start);
+    }
+    return sum;
+  }
 }
@@ -0,0 +1,147 @@
+package com.github.joonavali.naturalmouse;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotion;
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class MouseMotionFactoryTest {
+  private static final int THREADS = 8;
+  private static final int MOTIONS_PER_THREAD = 100;
+
+  @Test
+  public void sharedFactoryPlansConcurrently() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(
+        new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), () -> new Point(10, 10))
+    );
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<List<TrajectoryPlan>>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < THREADS; i++) {
+        int xDest = 100 + i * 50;
+        results.add(executor.submit(() -> {
+          List<TrajectoryPlan> plans = new ArrayList<>();
+          for (int j = 0; j < MOTIONS_PER_THREAD; j++) {
+            plans.add(factory.build(xDest, 300).plan());
+          }
+          return plans;
+        }));
+      }
+
+      Set<Integer> durations = new HashSet<>();
+      for (int i = 0; i < THREADS; i++) {
+        for (TrajectoryPlan plan : results.get(i).get()) {
+          Assertions.assertEquals(100 + i * 50, plan.getX(plan.size() - 1));
+          Assertions.assertEquals(300, plan.getY(plan.size() - 1));
+          durations.add((int) plan.getDurationMs());
+        }
+      }
+      // Every motion has its own random, so the motions are not all the same.
+      Assertions.assertTrue(durations.size() > 1);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void singleSeedReproducesWholeMotion() {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+
+    factory.setRandom(new SplittableRandomAdapter(7));
+    TrajectoryPlan first = factory.build(600, 400).plan();
+    factory.setRandom(new SplittableRandomAdapter(7));
+    TrajectoryPlan second = factory.build(600, 400).plan();
+
+    // Speed and overshoots are drawn from the same random, so the plans are identical.
+    Assertions.assertArrayEquals(first.getXs(), second.getXs());
+    Assertions.assertArrayEquals(first.getYs(), second.getYs());
+    Assertions.assertArrayEquals(first.getTimesNanos(), second.getTimesNanos());
+    Assertions.assertEquals(first.getDurationNanos(), second.getDurationNanos());
+  }
+
+  @Test
+  public void seedingGetRandomReproducesMotion() {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+
+    factory.getRandom().setSeed(7);
+    TrajectoryPlan first = factory.build(600, 400).plan();
+    factory.getRandom().setSeed(7);
+    TrajectoryPlan second = factory.build(600, 400).plan();
+
+    Assertions.assertArrayEquals(first.getXs(), second.getXs());
+    Assertions.assertArrayEquals(first.getTimesNanos(), second.getTimesNanos());
+  }
+
+  @Test
+  public void planFitsTimeBudget() throws InterruptedException {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+    factory.setRandom(new SplittableRandomAdapter(11));
+
+    for (long budget : new long[]{0, 50, 200, 400}) {
+      for (int i = 0; i < 50; i++) {
+        TrajectoryPlan plan = factory.build(600, 400, budget).plan();
+        Assertions.assertTrue(plan.getDurationNanos() <= TimeUnit.MILLISECONDS.toNanos(budget),
+            plan.getDurationNanos() + " ns > " + budget + " ms");
+        Assertions.assertEquals(600, plan.getX(plan.size() - 1));
+        Assertions.assertEquals(400, plan.getY(plan.size() - 1));
+      }
+    }
+
+    MouseMotion motion = factory.build(600, 400, 100);
+    motion.move();
+    Assertions.assertFalse(motion.isTimeBudgetExceeded());
+    Assertions.assertEquals(new Point(600, 400), mouse.getMousePosition());
+  }
+
+  @Test
+  public void planWithStepRateFitsTimeBudget() {
+    MockMouse mouse = new MockMouse(0, 0);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 801, 501), mouse));
+    factory.getNature().setStepRateHz(60);
+
+    for (long budget : new long[]{50, 110, 200, 400}) {
+      for (int seed = 0; seed < 200; seed++) {
+        factory.setRandom(new SplittableRandomAdapter(seed));
+        TrajectoryPlan plan = factory.build(800, 500, budget).plan();
+        Assertions.assertTrue(plan.getDurationNanos() <= TimeUnit.MILLISECONDS.toNanos(budget),
+            plan.getDurationNanos() + " ns > " + budget + " ms");
+        Assertions.assertEquals(800, plan.getX(plan.size() - 1));
+        Assertions.assertEquals(500, plan.getY(plan.size() - 1));
+      }
+    }
+  }
+
+  @Test
+  public void sufficientTimeBudgetDoesNotChangeMotion() {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+
+    factory.setRandom(new SplittableRandomAdapter(7));
+    TrajectoryPlan unbounded = factory.build(600, 400).plan();
+    factory.setRandom(new SplittableRandomAdapter(7));
+    TrajectoryPlan bounded = factory.build(600, 400, unbounded.getDurationMs() + 1000).plan();
+
+    Assertions.assertArrayEquals(unbounded.getXs(), bounded.getXs());
+    Assertions.assertArrayEquals(unbounded.getTimesNanos(), bounded.getTimesNanos());
+  }
+}
@@ -72,6 +72,16 @@ public class ScreenAdjustedNatureTest {
     Assertions.assertEquals(new Point(50, 50), moves.get(moves.size() - 1));
   }
 
+  @Test
+  public void testMousePositionIsNotSharedBetweenThreads() throws Exception {
+    Point[] otherThreadPosition = new Point[1];
+    Thread thread = new Thread(() -> otherThreadPosition[0] = factory.getMouseInfo().getMousePosition());
+    thread.start();
+    thread.join();
 
-
+    Point position = factory.getMouseInfo().getMousePosition();
+    Assertions.assertNotSame(otherThreadPosition[0], position);
+    Assertions.assertEquals(new Point(10, 10), position);
+    Assertions.assertEquals(new Point(10, 10), otherThreadPosition[0]);
+  }
 }
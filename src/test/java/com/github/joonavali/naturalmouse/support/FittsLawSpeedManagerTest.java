@@ -0,0 +1,50 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.support.FittsLawSpeedManager;
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import com.github.joonasvali.naturalmouse.util.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+public class FittsLawSpeedManagerTest {
+  @Test
+  public void movementTimeFollowsFittsLaw() {
+    Flow flow = new Flow(FlowTemplates.constantSpeed());
+    FittsLawSpeedManager manager = new FittsLawSpeedManager(
+        Collections.singletonList(flow), 100, 150, 10, 0, new Random(1)
+    );
+
+    // log2(70 / 10 + 1) = 3 bits
+    Assertions.assertEquals(550, manager.getMovementTimeMs(70), 10e-6);
+    Assertions.assertEquals(100, manager.getMovementTimeMs(0), 10e-6);
+    Pair<Flow, Long> result = manager.getFlowWithTime(70);
+    Assertions.assertSame(flow, result.x);
+    Assertions.assertEquals(550, (long) result.y);
+  }
+
+  @Test
+  public void shortMovementsAreFasterThanLongOnes() {
+    FittsLawSpeedManager manager = new FittsLawSpeedManager(
+        Collections.singletonList(new Flow(FlowTemplates.variatingFlow()))
+    );
+    Random random = new Random(2);
+    for (int i = 0; i < 100; i++) {
+      long shortTime = manager.getFlowWithTime(random, 10).y;
+      long longTime = manager.getFlowWithTime(random, 1500).y;
+      Assertions.assertTrue(shortTime < longTime, shortTime + " >= " + longTime);
+    }
+  }
+
+  @Test
+  public void timeOfZeroBucketsIsAdded() {
+    Flow flow = new Flow(new double[]{1, 0, 0, 1});
+    FittsLawSpeedManager manager = new FittsLawSpeedManager(
+        Collections.singletonList(flow), 100, 0, 10, 0, null
+    );
+    Assertions.assertEquals(150, (long) manager.getFlowWithTime(new Random(3), 500).y);
+  }
+}
@@ -0,0 +1,107 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.FlowLibrary;
+import com.github.joonasvali.naturalmouse.support.FlowLibrarySpeedManager;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import com.github.joonasvali.naturalmouse.util.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+public class FlowLibraryTest {
+  private static final double SMALL_DELTA = 10e-6;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void quantizedFlowKeepsItsShape() {
+    FlowLibrary library = new FlowLibrary.Builder()
+        .addFlow(FlowTemplates.stoppingFlow(), 100, 500)
+        .build();
+    Flow original = new Flow(FlowTemplates.stoppingFlow());
+    Flow quantized = library.getFlow(0);
+
+    double[] expected = original.getFlowCharacteristics();
+    double[] actual = quantized.getFlowCharacteristics();
+    Assertions.assertEquals(expected.length, actual.length);
+    int zeros = 0;
+    for (int i = 0; i < expected.length; i++) {
+      Assertions.assertEquals(expected[i], actual[i], 0.5);
+      if (expected[i] < SMALL_DELTA) {
+        zeros++;
+      }
+    }
+    Assertions.assertEquals(zeros, library.getZeroBuckets(0));
+    Assertions.assertSame(quantized, library.getFlow(0));
+  }
+
+  @Test
+  public void libraryIsReadFromFile() throws Exception {
+    FlowLibrary library = new FlowLibrary.Builder()
+        .addFlow(FlowTemplates.constantSpeed(), 50, 300)
+        .addFlow(FlowTemplates.jaggedFlow(), 800, 900)
+        .build();
+    Path file = tempDir.resolve("flows.bin");
+    library.write(file);
+
+    FlowLibrary read = FlowLibrary.read(file);
+    Assertions.assertEquals(2, read.size());
+    for (int i = 0; i < read.size(); i++) {
+      Assertions.assertEquals(library.getDistance(i), read.getDistance(i));
+      Assertions.assertEquals(library.getTimeMs(i), read.getTimeMs(i));
+      Assertions.assertEquals(library.getZeroBuckets(i), read.getZeroBuckets(i));
+      Assertions.assertArrayEquals(
+          library.getFlow(i).getFlowCharacteristics(), read.getFlow(i).getFlowCharacteristics(), 0
+      );
+    }
+  }
+
+  @Test
+  public void speedManagerChoosesFlowRecordedForSimilarDistance() {
+    FlowLibrary library = new FlowLibrary.Builder()
+        .addFlow(FlowTemplates.constantSpeed(), 10, 100)
+        .addFlow(FlowTemplates.constantSpeed(), 20, 150)
+        .addFlow(FlowTemplates.jaggedFlow(), 500, 700)
+        .build();
+    FlowLibrarySpeedManager manager = new FlowLibrarySpeedManager(library, 25, null);
+    Random random = new Random(1);
+
+    for (int i = 0; i < 50; i++) {
+      Pair<Flow, Long> shortMove = manager.getFlowWithTime(random, 15);
+      Assertions.assertTrue(shortMove.y == 100 || shortMove.y == 150, "Time " + shortMove.y);
+      // No flows recorded near 450 px, the nearest non-empty bin is used.
+      Assertions.assertEquals(700, (long) manager.getFlowWithTime(random, 450).y);
+      Assertions.assertEquals(700, (long) manager.getFlowWithTime(random, 5000).y);
+    }
+  }
+
+  @Test
+  public void decodedFlowsAreBounded() {
+    FlowLibrary library = new FlowLibrary.Builder()
+        .addFlow(FlowTemplates.constantSpeed(), 10, 100)
+        .addFlow(FlowTemplates.jaggedFlow(), 20, 150)
+        .setMaximumCachedFlows(1)
+        .build();
+    Flow first = library.getFlow(0);
+    Assertions.assertSame(first, library.getFlow(0));
+    library.getFlow(1);
+    Flow decodedAgain = library.getFlow(0);
+    Assertions.assertNotSame(first, decodedAgain);
+    Assertions.assertArrayEquals(first.getFlowCharacteristics(), decodedAgain.getFlowCharacteristics(), 0);
+  }
+
+  @Test
+  public void speedManagerAddsTimeOfZeroBuckets() {
+    FlowLibrary library = new FlowLibrary.Builder()
+        .addFlow(new double[]{0, 1, 1, 1}, 10, 300)
+        .build();
+    FlowLibrarySpeedManager manager = new FlowLibrarySpeedManager(library);
+    // A quarter of the recorded time is added for the 0-bucket, as in DefaultSpeedManager.
+    Assertions.assertEquals(375, (long) manager.getFlowWithTime(new Random(1), 10).y);
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.NoiseProvider;
+import com.github.joonasvali.naturalmouse.support.DefaultNoiseProvider;
+import com.github.joonasvali.naturalmouse.support.DoublePoint;
+import com.github.joonasvali.naturalmouse.support.MutableDoublePoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class NoiseProviderTest {
+
+  @Test
+  public void batchNoiseFollowsStepSizes() {
+    NoiseProvider provider = new DefaultNoiseProvider(DefaultNoiseProvider.DEFAULT_NOISINESS_DIVIDER);
+    int steps = 10000;
+    double[] fractions = new double[steps];
+    // First half small steps, then the steps too large for noise, and a step which doesn't move.
+    Arrays.fill(fractions, 0, steps / 2, 1d / steps);
+    Arrays.fill(fractions, steps / 2, steps, 8d / 1000);
+    fractions[0] = 0;
+    double[] xNoise = new double[steps];
+    double[] yNoise = new double[steps];
+    provider.getNoise(new Random(1), fractions, 1000, 0, xNoise, yNoise);
+
+    int noisySteps = 0;
+    for (int i = 0; i < steps; i++) {
+      double limit = Math.max(0, 8 - fractions[i] * 1000) / DefaultNoiseProvider.DEFAULT_NOISINESS_DIVIDER / 2;
+      Assertions.assertTrue(Math.abs(xNoise[i]) <= limit && Math.abs(yNoise[i]) <= limit);
+      if (xNoise[i] != 0 || yNoise[i] != 0) {
+        noisySteps++;
+        Assertions.assertTrue(i > 0 && i < steps / 2);
+      }
+    }
+    // Noise is added on (8 - 0.1) / 50 of the small steps.
+    Assertions.assertEquals(steps / 2 * 7.9 / 50, noisySteps, steps / 2 * 0.02);
+
+    double[] xNoise2 = new double[steps];
+    double[] yNoise2 = new double[steps];
+    provider.getNoise(new Random(1), fractions, 1000, 0, xNoise2, yNoise2);
+    Assertions.assertArrayEquals(xNoise, xNoise2);
+    Assertions.assertArrayEquals(yNoise, yNoise2);
+  }
+
+  @Test
+  public void batchNoiseFallsBackToSteps() {
+    NoiseProvider provider = (random, xStepSize, yStepSize) -> new DoublePoint(xStepSize, random.nextDouble());
+    double[] fractions = {0.1, 0.2, 0.3, 0.4};
+    double[] xNoise = new double[5];
+    double[] yNoise = new double[5];
+    provider.getNoise(new Random(2), fractions, 100, -50, xNoise, yNoise);
+
+    Random random = new Random(2);
+    MutableDoublePoint noise = new MutableDoublePoint();
+    for (int i = 0; i < fractions.length; i++) {
+      provider.getNoise(random, fractions[i] * 100, fractions[i] * -50, noise);
+      Assertions.assertEquals(noise.getX(), xNoise[i]);
+      Assertions.assertEquals(noise.getY(), yNoise[i]);
+    }
+    Assertions.assertEquals(0, xNoise[4]);
+  }
+}
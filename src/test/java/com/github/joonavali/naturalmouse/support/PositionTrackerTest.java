@@ -0,0 +1,68 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.MouseInfoAccessor;
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.PositionTracker;
+import com.github.joonasvali.naturalmouse.support.PositionTracker.Checkpoint;
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PositionTrackerTest {
+  @Test
+  public void trackedMotionQueriesOnlyAtCheckpoints() throws InterruptedException {
+    MockMouse mouse = new MockMouse(10, 10);
+    AtomicInteger queries = new AtomicInteger();
+    MouseInfoAccessor countingMouse = () -> {
+      queries.incrementAndGet();
+      return mouse.getMousePosition();
+    };
+    MouseMotionFactory factory = new MouseMotionFactory(
+        new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), countingMouse)
+    );
+    factory.setRandom(new SplittableRandomAdapter(5));
+    factory.move(600, 400);
+    int untrackedQueries = queries.get();
+
+    PositionTracker tracker = new PositionTracker();
+    tracker.setCheckpoints(EnumSet.of(Checkpoint.MOTION_START));
+    factory.getNature().setPositionTracker(tracker);
+    queries.set(0);
+    factory.move(10, 10);
+
+    Assertions.assertEquals(new Point(10, 10), mouse.getMousePosition());
+    Assertions.assertEquals(new Point(10, 10), tracker.getSnapshot());
+    Assertions.assertEquals(1, queries.get());
+    Assertions.assertEquals(1, tracker.getVerifications());
+    Assertions.assertTrue(tracker.getQueries() > 1);
+    Assertions.assertTrue(untrackedQueries > 1);
+  }
+
+  @Test
+  public void verifyIntervalSamplesRealPosition() {
+    MockMouse mouse = new MockMouse(10, 10);
+    MockSystemCalls systemCalls = new MockSystemCalls(mouse, 800, 500);
+    PositionTracker tracker = new PositionTracker();
+    tracker.setCheckpoints(EnumSet.noneOf(Checkpoint.class));
+    Assertions.assertNull(tracker.getSnapshot());
+
+    Assertions.assertEquals(new Point(10, 10), tracker.getMousePosition(Checkpoint.MOVEMENT_START, mouse, systemCalls));
+    // The cursor is moved behind the tracker's back, the tracker trusts the last known position.
+    mouse.mouseMove(20, 30);
+    Assertions.assertEquals(new Point(10, 10), tracker.getMousePosition(Checkpoint.MOVEMENT_START, mouse, systemCalls));
+
+    // The mock clock doesn't advance, so only an interval of 0 has passed.
+    tracker.setVerifyIntervalNanos(0);
+    Assertions.assertEquals(new Point(20, 30), tracker.getMousePosition(Checkpoint.MOVEMENT_START, mouse, systemCalls));
+
+    tracker.setPosition(-5, -7);
+    Assertions.assertEquals(new Point(-5, -7), tracker.getSnapshot());
+  }
+}
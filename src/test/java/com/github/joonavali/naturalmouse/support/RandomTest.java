@@ -0,0 +1,68 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonasvali.naturalmouse.support.Xoroshiro128PlusRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.LongFunction;
+
+public class RandomTest {
+
+  @Test
+  public void splittableRandomAdapterIsReproducible() {
+    assertReproducibleAndInRange(SplittableRandomAdapter::new);
+  }
+
+  @Test
+  public void xoroshiroIsReproducible() {
+    assertReproducibleAndInRange(Xoroshiro128PlusRandom::new);
+  }
+
+  @Test
+  public void splitAdapterProducesDifferentSequence() {
+    SplittableRandomAdapter random = new SplittableRandomAdapter(3);
+    SplittableRandomAdapter split = random.split();
+    Assertions.assertNotEquals(random.nextLong(), split.nextLong());
+  }
+
+  @Test
+  public void reseedDiscardsCachedGaussian() {
+    assertReseedDiscardsCachedGaussian(SplittableRandomAdapter::new);
+    assertReseedDiscardsCachedGaussian(Xoroshiro128PlusRandom::new);
+  }
+
+  private void assertReseedDiscardsCachedGaussian(LongFunction<Random> factory) {
+    Random fresh = factory.apply(7);
+    Random reseeded = factory.apply(1);
+    // Gaussians are generated in pairs, after an odd number of calls the second one is cached.
+    reseeded.nextGaussian();
+    reseeded.setSeed(7);
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertEquals(fresh.nextGaussian(), reseeded.nextGaussian());
+    }
+  }
+
+  private void assertReproducibleAndInRange(LongFunction<Random> factory) {
+    Random first = factory.apply(42);
+    Random second = factory.apply(42);
+    Random other = factory.apply(43);
+    boolean differs = false;
+    for (int i = 0; i < 1000; i++) {
+      double value = first.nextDouble();
+      Assertions.assertEquals(value, second.nextDouble());
+      Assertions.assertTrue(value >= 0 && value < 1, "Out of range: " + value);
+      int bounded = first.nextInt(7);
+      Assertions.assertEquals(bounded, second.nextInt(7));
+      Assertions.assertTrue(bounded >= 0 && bounded < 7, "Out of range: " + bounded);
+      differs |= value != other.nextDouble();
+      other.nextInt(7);
+    }
+    Assertions.assertTrue(differs);
+
+    first.setSeed(5);
+    second.setSeed(5);
+    Assertions.assertEquals(first.nextLong(), second.nextLong());
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.SplineFlow;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SplineFlowTest {
+  private static final double SMALL_DELTA = 10e-6;
+
+  @Test
+  public void stepFractionsAddUpToDistance() {
+    List<Flow> flows = SplineFlow.fromTemplates(
+        FlowTemplates.variatingFlow(), FlowTemplates.interruptedFlow(), FlowTemplates.jaggedFlow(),
+        FlowTemplates.stoppingFlow(), new double[]{5}
+    );
+    for (Flow flow : flows) {
+      for (int steps : new int[]{1, 3, 7, 50, 333, 10000}) {
+        double sum = 0;
+        for (int i = 0; i < steps; i++) {
+          double fraction = flow.getStepFraction(steps, i / (double) steps);
+          Assertions.assertTrue(fraction >= 0);
+          sum += fraction;
+        }
+        Assertions.assertEquals(1d, sum, SMALL_DELTA);
+      }
+    }
+  }
+
+  @Test
+  public void constantFlowHasConstantSpeed() {
+    SplineFlow flow = new SplineFlow(FlowTemplates.constantSpeed());
+    for (int i = 0; i < 7; i++) {
+      Assertions.assertEquals(1 / 7d, flow.getStepFraction(7, i / 7d), SMALL_DELTA);
+      Assertions.assertEquals(1, flow.getSpeed(i / 7d), SMALL_DELTA);
+    }
+  }
+
+  @Test
+  public void speedChangesSmoothly() {
+    SplineFlow flow = new SplineFlow(new double[]{0, 10, 100, 10, 0});
+    Flow bucketFlow = new Flow(new double[]{0, 10, 100, 10, 0});
+    int steps = 1000;
+    double maxChange = 0;
+    double maxBucketChange = 0;
+    double previous = flow.getStepFraction(steps, 0);
+    double previousBucket = bucketFlow.getStepFraction(steps, 0);
+    for (int i = 1; i < steps; i++) {
+      double fraction = flow.getStepFraction(steps, i / (double) steps);
+      double bucketFraction = bucketFlow.getStepFraction(steps, i / (double) steps);
+      maxChange = Math.max(maxChange, Math.abs(fraction - previous));
+      maxBucketChange = Math.max(maxBucketChange, Math.abs(bucketFraction - previousBucket));
+      previous = fraction;
+      previousBucket = bucketFraction;
+    }
+    Assertions.assertTrue(maxChange < maxBucketChange / 50, maxChange + " vs " + maxBucketChange);
+    // The peak stays at the middle of the peak bucket.
+    Assertions.assertEquals(100 / 24d, flow.getSpeed(0.5), SMALL_DELTA);
+    Assertions.assertEquals(0.5, flow.getDistanceUntil(0.5), SMALL_DELTA);
+  }
+}
@@ -0,0 +1,55 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.StepProfileCache;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StepProfileCacheTest {
+  private static final double SMALL_DELTA = 10e-6;
+
+  @Test
+  public void profileMatchesStepFractions() {
+    Flow flow = new Flow(new double[]{8, 20, 39, 0, 0, 0, 3, 6, 100, 103, 1});
+    StepProfileCache cache = new StepProfileCache();
+    for (int steps : new int[]{1, 3, 7, 11, 50, 333}) {
+      double[] profile = cache.getProfile(flow, steps);
+      Assertions.assertEquals(steps, profile.length);
+      double sum = 0;
+      for (int i = 0; i < steps; i++) {
+        Assertions.assertEquals(flow.getStepFraction(steps, i / (double) steps), profile[i], SMALL_DELTA);
+        sum += profile[i];
+      }
+      Assertions.assertEquals(1d, sum, SMALL_DELTA);
+    }
+  }
+
+  @Test
+  public void profileIsSharedForSameFlowAndSteps() {
+    Flow flow = new Flow(FlowTemplates.variatingFlow());
+    StepProfileCache cache = new StepProfileCache();
+    double[] profile = cache.getProfile(flow, 40);
+    Assertions.assertSame(profile, cache.getProfile(flow, 40));
+    Assertions.assertNotSame(profile, cache.getProfile(flow, 41));
+    // Equal characteristics, but another flow.
+    Assertions.assertNotSame(profile, cache.getProfile(new Flow(FlowTemplates.variatingFlow()), 40));
+    Assertions.assertEquals(1, cache.getHits());
+    Assertions.assertEquals(3, cache.getMisses());
+  }
+
+  @Test
+  public void cacheStaysBounded() {
+    StepProfileCache cache = new StepProfileCache(10, 100);
+    for (int i = 0; i < 50; i++) {
+      cache.getProfile(new Flow(FlowTemplates.random()), 20);
+    }
+    Assertions.assertEquals(10, cache.size());
+    Assertions.assertEquals(40, cache.getEvictions());
+
+    // Longer profiles are not cached.
+    Flow flow = new Flow(FlowTemplates.random());
+    Assertions.assertNotSame(cache.getProfile(flow, 101), cache.getProfile(flow, 101));
+    Assertions.assertEquals(10, cache.size());
+  }
+}
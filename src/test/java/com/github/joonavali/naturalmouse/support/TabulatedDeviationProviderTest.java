@@ -0,0 +1,71 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.DeviationProvider;
+import com.github.joonasvali.naturalmouse.support.DoublePoint;
+import com.github.joonasvali.naturalmouse.support.MutableDoublePoint;
+import com.github.joonasvali.naturalmouse.support.SinusoidalDeviationProvider;
+import com.github.joonasvali.naturalmouse.support.TabulatedDeviationProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TabulatedDeviationProviderTest {
+
+  @Test
+  public void interpolationErrorIsBoundedByReportedError() {
+    SinusoidalDeviationProvider sinusoidal = new SinusoidalDeviationProvider(
+        SinusoidalDeviationProvider.DEFAULT_SLOPE_DIVIDER
+    );
+    TabulatedDeviationProvider tabulated = new TabulatedDeviationProvider(sinusoidal);
+    Random random = new Random(3);
+    MutableDoublePoint expected = new MutableDoublePoint();
+    MutableDoublePoint actual = new MutableDoublePoint();
+    double maxError = 0;
+    for (int i = 0; i < 100000; i++) {
+      double distance = random.nextDouble() * 1000;
+      double completion = random.nextDouble();
+      sinusoidal.getDeviation(distance, completion, expected);
+      tabulated.getDeviation(distance, completion, actual);
+      maxError = Math.max(maxError, Math.abs(expected.getX() - actual.getX()));
+      maxError = Math.max(maxError, Math.abs(expected.getY() - actual.getY()));
+    }
+    Assertions.assertTrue(maxError > 0);
+    double estimate = tabulated.getEstimatedMaxError();
+    Assertions.assertTrue(maxError <= estimate * 1.01, maxError + " vs " + estimate);
+    // 100 px deviation at 1000 px, with 64 intervals the curve is accurate to a fraction of a pixel.
+    Assertions.assertTrue(tabulated.getEstimatedMaxError() < 0.1, "Error " + tabulated.getEstimatedMaxError());
+
+    DoublePoint point = tabulated.getDeviation(500, 0.5);
+    Assertions.assertEquals(50, point.getX(), 10e-6);
+    Assertions.assertEquals(50, point.getY(), 10e-6);
+  }
+
+  @Test
+  public void underlyingIsSampledOncePerDistanceClass() {
+    AtomicInteger calls = new AtomicInteger();
+    DeviationProvider counting = (distance, completion) -> {
+      calls.incrementAndGet();
+      return new DoublePoint(distance * completion, 0);
+    };
+    TabulatedDeviationProvider tabulated = new TabulatedDeviationProvider(counting, 11, 2, 4);
+    MutableDoublePoint deviation = new MutableDoublePoint();
+    tabulated.getDeviation(100, 0.25, deviation);
+    int callsPerClass = calls.get();
+    for (int i = 0; i <= 1000; i++) {
+      tabulated.getDeviation(100 + i * 0.02, i / 1000d, deviation);
+      Assertions.assertEquals((100 + i * 0.02) * i / 1000d, deviation.getX(), 10e-6);
+    }
+    Assertions.assertEquals(callsPerClass, calls.get());
+    Assertions.assertEquals(0, tabulated.getEstimatedMaxError(), 10e-6);
+
+    // Classes 0-1, 1-2, 2-4, ..., 512-1024, the class 64-128 is evicted before it's used again.
+    for (int distance = 0; distance < 1000; distance++) {
+      tabulated.getDeviation(distance, 0.5, deviation);
+    }
+    Assertions.assertEquals(4, tabulated.size());
+    Assertions.assertEquals(8, tabulated.getEvictions());
+    Assertions.assertEquals(callsPerClass * 12, calls.get());
+  }
+}
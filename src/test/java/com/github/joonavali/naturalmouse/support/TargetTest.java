@@ -0,0 +1,81 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.DefaultOvershootManager;
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonasvali.naturalmouse.support.Target;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class TargetTest {
+  @Test
+  public void landingPointsAreInsideAndScattered() {
+    Target rectangle = Target.rectangle(100, 200, 40, 20);
+    Target circle = Target.circle(300, 300, 10);
+    Random random = new Random(1);
+    Set<Point> points = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      Point point = rectangle.getLandingPoint(random);
+      Assertions.assertTrue(rectangle.contains(point.x, point.y), point.toString());
+      points.add(point);
+      point = circle.getLandingPoint(random);
+      Assertions.assertTrue(circle.contains(point.x, point.y), point.toString());
+    }
+    Assertions.assertTrue(points.size() > 100);
+    Assertions.assertFalse(rectangle.contains(140, 200));
+    Assertions.assertFalse(circle.contains(308, 308));
+  }
+
+  @Test
+  public void pointTargetDoesNotUseRandom() {
+    Target point = Target.point(5, 6);
+    Assertions.assertTrue(point.isPoint());
+    Assertions.assertEquals(0, point.getSize());
+    Assertions.assertEquals(new Point(5, 6), point.getLandingPoint(null));
+    Assertions.assertTrue(Target.circle(5, 6, 0).isPoint());
+    Assertions.assertTrue(Target.rectangle(0, 0, 4, 4, 2).isPoint());
+  }
+
+  @Test
+  public void motionEndsInsideTarget() throws InterruptedException {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+    factory.setRandom(new SplittableRandomAdapter(3));
+    Target target = Target.rectangle(600, 400, 50, 30);
+
+    for (int i = 0; i < 20; i++) {
+      factory.move(target);
+      Point position = mouse.getMousePosition();
+      Assertions.assertTrue(target.contains(position.x, position.y), position.toString());
+      factory.move(10, 10);
+    }
+
+    // Already inside, so nothing to do.
+    mouse.mouseMove(620, 410);
+    TrajectoryPlan plan = factory.build(target).plan();
+    Assertions.assertEquals(0, plan.size());
+  }
+
+  @Test
+  public void largeTargetNeedsNoOvershoots() {
+    MockMouse mouse = new MockMouse(10, 10);
+    MouseMotionFactory factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+    factory.setRandom(new SplittableRandomAdapter(4));
+
+    TrajectoryPlan plan = factory.build(Target.rectangle(50, 50, 200, 200)).plan();
+    Assertions.assertEquals(1, plan.getMovementCount());
+
+    DefaultOvershootManager manager = (DefaultOvershootManager) factory.getOvershootManager();
+    Assertions.assertEquals(0, manager.getOvershoots(null, 500, 100, 60));
+    Assertions.assertEquals(manager.getOvershoots(), manager.getOvershoots(null, 500, 1000, 60));
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.joonavali.naturalmouse.support;
+
+import com.github.joonasvali.naturalmouse.api.SystemCalls;
+import com.github.joonasvali.naturalmouse.api.WaitStrategy;
+import com.github.joonasvali.naturalmouse.support.DefaultSystemCalls;
+import com.github.joonasvali.naturalmouse.support.ParkWaitStrategy;
+import com.github.joonasvali.naturalmouse.support.SleepWaitStrategy;
+import com.github.joonasvali.naturalmouse.support.SpinWaitStrategy;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class WaitStrategyTest {
+  private final SystemCalls realClock = new DefaultSystemCalls(null);
+
+  @Test
+  public void parkWaitsUntilDeadline() throws InterruptedException {
+    assertWaitsUntilDeadline(new ParkWaitStrategy());
+  }
+
+  @Test
+  public void sleepWaitsUntilDeadline() throws InterruptedException {
+    assertWaitsUntilDeadline(new SleepWaitStrategy());
+  }
+
+  @Test
+  public void spinWaitsUntilDeadline() throws InterruptedException {
+    assertWaitsUntilDeadline(new SpinWaitStrategy());
+  }
+
+  @Test
+  public void passedDeadlineReturnsImmediately() throws InterruptedException {
+    long deadline = realClock.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+    for (WaitStrategy strategy : new WaitStrategy[]{new SleepWaitStrategy(), new ParkWaitStrategy(), new SpinWaitStrategy()}) {
+      long start = System.nanoTime();
+      strategy.waitUntil(realClock, deadline);
+      Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+    }
+  }
+
+  @Test
+  public void sleepStrategyUsesSystemCallsSleep() throws InterruptedException {
+    List<Long> sleeps = new ArrayList<>();
+    SystemCalls systemCalls = new MockSystemCalls(new MockMouse(), 100, 100) {
+      @Override
+      public void sleep(long time) {
+        sleeps.add(time);
+      }
+    };
+    // MockSystemCalls clock is always at 0.
+    new SleepWaitStrategy().waitUntil(systemCalls, TimeUnit.MICROSECONDS.toNanos(5500));
+    Assertions.assertEquals(1, sleeps.size());
+    // Rounded up, so the deadline is not missed by the fraction.
+    Assertions.assertEquals(6L, sleeps.get(0));
+  }
+
+  private void assertWaitsUntilDeadline(WaitStrategy strategy) throws InterruptedException {
+    for (int i = 0; i < 10; i++) {
+      long deadline = realClock.nanoTime() + TimeUnit.MICROSECONDS.toNanos(1500);
+      strategy.waitUntil(realClock, deadline);
+      Assertions.assertTrue(realClock.nanoTime() >= deadline);
+    }
+  }
+}
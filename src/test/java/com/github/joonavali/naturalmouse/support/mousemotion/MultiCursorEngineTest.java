@@ -0,0 +1,235 @@
+package com.github.joonavali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.mousemotion.MultiCursorEngine;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.support.mousemotion.VirtualCursor;
+import com.github.joonavali.naturalmouse.testutils.MockDeviationProvider;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockNoiseProvider;
+import com.github.joonavali.naturalmouse.testutils.MockSpeedManager;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MultiCursorEngineTest {
+  private static final int CURSORS = 500;
+  private MultiCursorEngine engine;
+
+  @BeforeEach
+  public void setup() {
+    engine = new MultiCursorEngine();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    engine.close();
+  }
+
+  @Test
+  public void allCursorsReachTheirDestinationsOnSingleThread() throws Exception {
+    List<MockMouse> mice = new ArrayList<>();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    for (int i = 0; i < CURSORS; i++) {
+      MockMouse mouse = new MockMouse(i % 100, 10);
+      DefaultMouseMotionNature nature = new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse);
+      nature.setDeviationProvider(new MockDeviationProvider());
+      nature.setNoiseProvider(new MockNoiseProvider());
+      nature.setSpeedManager(new MockSpeedManager());
+      VirtualCursor cursor = engine.createCursor(nature, new Random(i));
+      mice.add(mouse);
+      futures.add(cursor.moveTo(300 + i % 200, 200, (x, y) -> threads.add(Thread.currentThread())));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+    for (int i = 0; i < CURSORS; i++) {
+      Assertions.assertEquals(new Point(300 + i % 200, 200), mice.get(i).getMousePosition());
+    }
+    Assertions.assertEquals(1, threads.size());
+    Assertions.assertEquals(0, engine.getActiveMotions());
+  }
+
+  @Test
+  public void newMotionCancelsThePreviousOne() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    DefaultMouseMotionNature nature = new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse);
+    nature.setDeviationProvider(new MockDeviationProvider());
+    nature.setNoiseProvider(new MockNoiseProvider());
+    nature.setSpeedManager(new MockSpeedManager());
+    VirtualCursor cursor = engine.createCursor(nature, new Random(1));
+
+    CompletableFuture<Void> first = cursor.moveTo(700, 400);
+    CompletableFuture<Void> second = cursor.moveTo(100, 100);
+    second.get(5, TimeUnit.SECONDS);
+
+    Assertions.assertTrue(first.isCancelled());
+    Assertions.assertFalse(cursor.isMoving());
+    Assertions.assertEquals(new Point(100, 100), mouse.getMousePosition());
+  }
+
+  @Test
+  public void cancelledMotionIsRemovedFromQueue() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(20, 20, 0)
+        .addStep(30, 30, TimeUnit.HOURS.toNanos(1))
+        .endMovement()
+        .build(TimeUnit.HOURS.toNanos(1));
+    CountDownLatch firstStep = new CountDownLatch(1);
+
+    CompletableFuture<Void> future = engine.play(new MockSystemCalls(mouse, 800, 500), plan, (x, y) -> firstStep.countDown());
+    Assertions.assertTrue(firstStep.await(5, TimeUnit.SECONDS));
+    future.cancel(false);
+
+    Assertions.assertEquals(0, engine.getActiveMotions());
+  }
+
+  @Test
+  public void cancelWaitsForStepInProgress() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(20, 20, 0)
+        .addStep(30, 30, 0)
+        .endMovement()
+        .build(0);
+    CountDownLatch stepStarted = new CountDownLatch(1);
+    CountDownLatch releaseStep = new CountDownLatch(1);
+    AtomicInteger steps = new AtomicInteger();
+    CompletableFuture<Void> future = engine.play(new MockSystemCalls(mouse, 800, 500), plan, (x, y) -> {
+      steps.incrementAndGet();
+      stepStarted.countDown();
+      try {
+        releaseStep.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    Assertions.assertTrue(stepStarted.await(5, TimeUnit.SECONDS));
+
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Thread canceller = new Thread(() -> {
+      engine.cancel(future);
+      cancelled.set(true);
+    });
+    canceller.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (canceller.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    Assertions.assertEquals(Thread.State.WAITING, canceller.getState());
+    Assertions.assertFalse(cancelled.get());
+
+    releaseStep.countDown();
+    canceller.join(5000);
+    Assertions.assertTrue(cancelled.get());
+    Assertions.assertTrue(future.isCancelled());
+    Assertions.assertEquals(1, steps.get());
+    Assertions.assertEquals(new Point(20, 20), mouse.getMousePosition());
+    Assertions.assertEquals(0, engine.getActiveMotions());
+  }
+
+  @Test
+  public void closeCancelsMotionWhoseStepIsInProgress() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(20, 20, 0)
+        .addStep(30, 30, 0)
+        .endMovement()
+        .build(0);
+    CountDownLatch stepStarted = new CountDownLatch(1);
+    CountDownLatch releaseStep = new CountDownLatch(1);
+    CompletableFuture<Void> future = engine.play(new MockSystemCalls(mouse, 800, 500), plan, (x, y) -> {
+      stepStarted.countDown();
+      await(releaseStep);
+    });
+    Assertions.assertTrue(stepStarted.await(5, TimeUnit.SECONDS));
+
+    engine.close();
+    releaseStep.countDown();
+
+    Assertions.assertThrows(CancellationException.class, () -> future.get(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(new Point(20, 20), mouse.getMousePosition());
+  }
+
+  @Test
+  public void interruptedEngineCancelsQueuedMotions() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(20, 20, 0)
+        .addStep(30, 30, TimeUnit.HOURS.toNanos(1))
+        .endMovement()
+        .build(TimeUnit.HOURS.toNanos(1));
+    CompletableFuture<Thread> engineThread = new CompletableFuture<>();
+    CompletableFuture<Void> future = engine.play(
+        new MockSystemCalls(mouse, 800, 500), plan, (x, y) -> engineThread.complete(Thread.currentThread())
+    );
+
+    engineThread.get(5, TimeUnit.SECONDS).interrupt();
+
+    Assertions.assertThrows(CancellationException.class, () -> future.get(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(0, engine.getActiveMotions());
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> engine.play(new MockSystemCalls(mouse, 800, 500), plan, (x, y) -> {
+        }));
+  }
+
+  @Test
+  public void observerCanMoveItsCursorWhileAnotherThreadCancels() throws Exception {
+    MockMouse mouse = new MockMouse(10, 10);
+    DefaultMouseMotionNature nature = new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse);
+    nature.setDeviationProvider(new MockDeviationProvider());
+    nature.setNoiseProvider(new MockNoiseProvider());
+    nature.setSpeedManager(new MockSpeedManager());
+    VirtualCursor cursor = engine.createCursor(nature, new Random(1));
+    CountDownLatch stepStarted = new CountDownLatch(1);
+    CountDownLatch releaseStep = new CountDownLatch(1);
+    CompletableFuture<CompletableFuture<Void>> moved = new CompletableFuture<>();
+    cursor.moveTo(700, 400, (x, y) -> {
+      if (stepStarted.getCount() == 1) {
+        stepStarted.countDown();
+        await(releaseStep);
+        moved.complete(cursor.moveTo(100, 100));
+      }
+    });
+    Assertions.assertTrue(stepStarted.await(5, TimeUnit.SECONDS));
+
+    Thread canceller = new Thread(cursor::cancel);
+    canceller.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (canceller.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    releaseStep.countDown();
+    canceller.join(5000);
+
+    Assertions.assertFalse(canceller.isAlive(), "Cancel and the observer are deadlocked");
+    moved.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+    Assertions.assertEquals(new Point(100, 100), mouse.getMousePosition());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.joonavali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.mousemotion.ScheduledTrajectoryPlayer;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonavali.naturalmouse.testutils.MockDeviationProvider;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockNoiseProvider;
+import com.github.joonavali.naturalmouse.testutils.MockSpeedManager;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ScheduledTrajectoryPlayerTest {
+  private MouseMotionFactory factory;
+  private MockMouse mouse;
+
+  @BeforeEach
+  public void setup() {
+    mouse = new MockMouse(10, 10);
+    factory = new MouseMotionFactory(new DefaultMouseMotionNature(new MockSystemCalls(mouse, 800, 500), mouse));
+    factory.setRandom(new Random(1));
+    factory.setDeviationProvider(new MockDeviationProvider());
+    factory.setNoiseProvider(new MockNoiseProvider());
+    factory.setSpeedManager(new MockSpeedManager());
+  }
+
+  @Test
+  public void moveAsyncReachesDestination() throws Exception {
+    CompletableFuture<Void> future = factory.moveAsync(300, 200);
+    future.get(5, TimeUnit.SECONDS);
+    Assertions.assertEquals(new Point(300, 200), mouse.getMousePosition());
+  }
+
+  @Test
+  public void cancellingStopsTheMovement() throws Exception {
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(20, 20, 0)
+        .addStep(30, 30, 0)
+        .addStep(40, 40, 0)
+        .addStep(50, 50, 0)
+        .endMovement()
+        .build(0);
+    CountDownLatch secondStep = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    // Holds the second step until the future is cancelled, so the cancel always lands in the middle of the plan.
+    MockSystemCalls systemCalls = new MockSystemCalls(mouse, 800, 500) {
+      @Override
+      public void setMousePosition(int x, int y) {
+        super.setMousePosition(x, y);
+        if (x == 30) {
+          secondStep.countDown();
+          try {
+            cancelled.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    };
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      CompletableFuture<Void> future = new ScheduledTrajectoryPlayer(systemCalls, executor).play(plan, (x, y) -> {
+      });
+      Assertions.assertTrue(secondStep.await(5, TimeUnit.SECONDS));
+      future.cancel(false);
+      cancelled.countDown();
+    } finally {
+      executor.shutdown();
+    }
+    Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    // The step in progress completes, the following ones are not executed.
+    Assertions.assertEquals(3, mouse.getMouseMovements().size());
+    Assertions.assertEquals(new Point(30, 30), mouse.getMousePosition());
+  }
+}
@@ -0,0 +1,128 @@
+package com.github.joonavali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.support.CatchUpPolicy;
+import com.github.joonasvali.naturalmouse.support.LagStatistics;
+import com.github.joonasvali.naturalmouse.support.SleepWaitStrategy;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlayer;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class StepPacerTest {
+  private static final int STEPS = 10;
+
+  @Test
+  public void executeAllRunsEveryStepLate() throws InterruptedException {
+    SlowSystemCalls systemCalls = new SlowSystemCalls();
+    LagStatistics statistics = new LagStatistics();
+    play(systemCalls, CatchUpPolicy.EXECUTE_ALL, statistics);
+
+    Assertions.assertEquals(STEPS, systemCalls.getMoves().size());
+    // Steps 1-9 and the end of the plan.
+    Assertions.assertEquals(STEPS, statistics.getLateSteps());
+    Assertions.assertEquals(0, statistics.getSkippedSteps());
+    // Every step takes 3 ms instead of 1 ms, so the motion ends 20 ms late.
+    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(30), systemCalls.now);
+  }
+
+  @Test
+  public void skipGetsBackOnTimeline() throws InterruptedException {
+    SlowSystemCalls systemCalls = new SlowSystemCalls();
+    LagStatistics statistics = new LagStatistics();
+    play(systemCalls, CatchUpPolicy.SKIP, statistics);
+
+    List<Point> moves = systemCalls.getMoves();
+    Assertions.assertTrue(moves.size() < STEPS);
+    Assertions.assertEquals(new Point(STEPS - 1, 0), moves.get(moves.size() - 1));
+    Assertions.assertEquals(STEPS - moves.size(), statistics.getSkippedSteps());
+    Assertions.assertTrue(systemCalls.now <= TimeUnit.MILLISECONDS.toNanos(STEPS + 3));
+  }
+
+  @Test
+  public void stretchEndsOnTime() throws InterruptedException {
+    SlowSystemCalls systemCalls = new SlowSystemCalls();
+    systemCalls.slowMoves = 1;
+    systemCalls.slowMoveMs = 4;
+    LagStatistics statistics = new LagStatistics();
+    play(systemCalls, CatchUpPolicy.STRETCH, statistics);
+
+    // Only the first move is slow, the remaining 8 steps are spread over the 5 ms left instead of 8 ms.
+    Assertions.assertEquals(STEPS, systemCalls.getMoves().size());
+    Assertions.assertEquals(1, statistics.getLateSteps());
+    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(3), statistics.getMaxLatenessNanos());
+    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(STEPS), systemCalls.now);
+    List<Long> times = systemCalls.moveTimes;
+    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(5), (long) times.get(2));
+    Assertions.assertTrue(times.get(STEPS - 1) <= TimeUnit.MILLISECONDS.toNanos(STEPS));
+  }
+
+  @Test
+  public void stretchAfterOverrunRunsRemainingStepsAtEnd() throws InterruptedException {
+    SlowSystemCalls systemCalls = new SlowSystemCalls();
+    systemCalls.slowMoves = 1;
+    systemCalls.slowMoveMs = STEPS + 5;
+    LagStatistics statistics = new LagStatistics();
+    play(systemCalls, CatchUpPolicy.STRETCH, statistics);
+
+    Assertions.assertEquals(STEPS, systemCalls.getMoves().size());
+    // Past the end, the rest are executed without waiting.
+    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(STEPS + 5), systemCalls.now);
+  }
+
+  private void play(SlowSystemCalls systemCalls, CatchUpPolicy policy, LagStatistics statistics)
+      throws InterruptedException {
+    TrajectoryPlan.Builder builder = new TrajectoryPlan.Builder();
+    for (int i = 0; i < STEPS; i++) {
+      builder.addStep(i, 0, TimeUnit.MILLISECONDS.toNanos(i));
+    }
+    builder.endMovement();
+    TrajectoryPlan plan = builder.build(TimeUnit.MILLISECONDS.toNanos(STEPS));
+    new TrajectoryPlayer(systemCalls, new SleepWaitStrategy(), policy, statistics).play(plan);
+  }
+
+  private static class SlowSystemCalls extends MockSystemCalls {
+    private final MockMouse mouse;
+    private long now;
+    private final List<Long> moveTimes = new ArrayList<>();
+    private int slowMoves = Integer.MAX_VALUE;
+    private long slowMoveMs = 3;
+
+    private SlowSystemCalls() {
+      this(new MockMouse(0, 0));
+    }
+
+    private SlowSystemCalls(MockMouse mouse) {
+      super(mouse, 800, 500);
+      this.mouse = mouse;
+    }
+
+    @Override
+    public long nanoTime() {
+      return now;
+    }
+
+    @Override
+    public void sleep(long time) {
+      now += TimeUnit.MILLISECONDS.toNanos(time);
+    }
+
+    @Override
+    public void setMousePosition(int x, int y) {
+      super.setMousePosition(x, y);
+      moveTimes.add(now);
+      now += TimeUnit.MILLISECONDS.toNanos(slowMoves-- > 0 ? slowMoveMs : 0);
+    }
+
+    private List<Point> getMoves() {
+      List<Point> moves = mouse.getMouseMovements();
+      return moves.subList(1, moves.size());
+    }
+  }
+}
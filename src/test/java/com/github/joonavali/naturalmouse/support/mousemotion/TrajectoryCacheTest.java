@@ -0,0 +1,130 @@
+package com.github.joonavali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.MouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.SplittableRandomAdapter;
+import com.github.joonasvali.naturalmouse.support.Target;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryCache;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import com.github.joonasvali.naturalmouse.util.Pair;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class TrajectoryCacheTest {
+  private static final Dimension SCREEN = new Dimension(800, 500);
+  private MouseMotionNature nature;
+  private Random random;
+
+  @BeforeEach
+  public void setup() {
+    MockMouse mouse = new MockMouse();
+    nature = new DefaultMouseMotionNature(new MockSystemCalls(mouse, SCREEN.width, SCREEN.height), mouse);
+    random = new SplittableRandomAdapter(1);
+  }
+
+  @Test
+  public void repeatedDisplacementIsServedFromCache() {
+    TrajectoryCache cache = new TrajectoryCache(16, 1, 4);
+
+    TrajectoryPlan first = cache.plan(nature, random, 100, 100, 300, 200, SCREEN);
+    TrajectoryPlan second = cache.plan(nature, random, 150, 120, 351, 219, SCREEN);
+
+    Assertions.assertEquals(1, cache.getMisses());
+    Assertions.assertEquals(1, cache.getHits());
+    assertEndsAt(first, 300, 200);
+    // Translated to the new start and corrected to the exact destination.
+    assertEndsAt(second, 351, 219);
+    Assertions.assertEquals(first.getDurationNanos(), second.getDurationNanos());
+    Assertions.assertEquals(first.size(), second.size());
+  }
+
+  @Test
+  public void variantsAreFilledBeforeHits() {
+    TrajectoryCache cache = new TrajectoryCache(16, 4, 4);
+    for (int i = 0; i < 100; i++) {
+      assertEndsAt(cache.plan(nature, random, 100, 100, 500, 400, SCREEN), 500, 400);
+    }
+    Assertions.assertTrue(cache.getMisses() >= 4);
+    Assertions.assertEquals(100, cache.getHits() + cache.getMisses());
+    Assertions.assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void leastRecentlyUsedDisplacementIsEvicted() {
+    TrajectoryCache cache = new TrajectoryCache(2, 1, 1);
+    cache.plan(nature, random, 0, 0, 100, 0, SCREEN);
+    cache.plan(nature, random, 0, 0, 0, 100, SCREEN);
+    cache.plan(nature, random, 0, 0, 100, 0, SCREEN);
+    cache.plan(nature, random, 0, 0, 100, 100, SCREEN);
+
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(1, cache.getEvictions());
+    cache.plan(nature, random, 0, 0, 100, 0, SCREEN);
+    Assertions.assertEquals(2, cache.getHits());
+  }
+
+  @Test
+  public void translatedStepsAreClampedToScreen() {
+    TrajectoryCache cache = new TrajectoryCache(16, 1, 4);
+    cache.plan(nature, random, 400, 300, 700, 300, SCREEN);
+    TrajectoryPlan plan = cache.plan(nature, random, 499, 0, 799, 0, SCREEN);
+
+    for (int i = 0; i < plan.size(); i++) {
+      Assertions.assertTrue(plan.getX(i) >= 0 && plan.getX(i) < SCREEN.width);
+      Assertions.assertTrue(plan.getY(i) >= 0 && plan.getY(i) < SCREEN.height);
+    }
+    assertEndsAt(plan, 799, 0);
+  }
+
+  @Test
+  public void changedNatureSettingsAreNotServedFromCache() {
+    TrajectoryCache cache = new TrajectoryCache(16, 1, 4);
+    cache.plan(nature, random, 100, 100, 300, 200, SCREEN);
+
+    nature.setStepRateHz(50);
+    TrajectoryPlan plan = cache.plan(nature, random, 100, 100, 300, 200, SCREEN);
+    Assertions.assertEquals(2, cache.getMisses());
+    for (int i = 0; i < plan.size(); i++) {
+      Assertions.assertEquals(0, plan.getTimeNanos(i) % TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    nature.setSpeedManager(distance -> new Pair<>(new Flow(FlowTemplates.constantSpeed()), 123L));
+    plan = cache.plan(nature, random, 100, 100, 300, 200, SCREEN);
+    Assertions.assertEquals(3, cache.getMisses());
+    Assertions.assertEquals(0, cache.getHits());
+    assertEndsAt(plan, 300, 200);
+  }
+
+  @Test
+  public void nonPointTargetIsNotPlannedFromCache() {
+    TrajectoryCache cache = new TrajectoryCache(16, 1, 4);
+    nature.setTrajectoryCache(cache);
+    MouseMotionFactory factory = new MouseMotionFactory(nature);
+    factory.setRandom(random);
+
+    Target target = Target.rectangle(500, 300, 40, 20);
+    for (int i = 0; i < 10; i++) {
+      TrajectoryPlan plan = factory.build(target).plan(100, 100);
+      Assertions.assertTrue(target.contains(plan.getX(plan.size() - 1), plan.getY(plan.size() - 1)));
+    }
+    Assertions.assertEquals(0, cache.getHits() + cache.getMisses());
+
+    factory.build(Target.point(500, 300)).plan(100, 100);
+    Assertions.assertEquals(1, cache.getMisses());
+  }
+
+  private void assertEndsAt(TrajectoryPlan plan, int x, int y) {
+    Assertions.assertEquals(x, plan.getX(plan.size() - 1));
+    Assertions.assertEquals(y, plan.getY(plan.size() - 1));
+  }
+}
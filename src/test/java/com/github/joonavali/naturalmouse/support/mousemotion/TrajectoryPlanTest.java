@@ -0,0 +1,142 @@
+package com.github.joonavali.naturalmouse.support.mousemotion;
+
+import com.github.joonasvali.naturalmouse.api.MouseMotion;
+import com.github.joonasvali.naturalmouse.api.MouseMotionFactory;
+import com.github.joonasvali.naturalmouse.support.DefaultMouseMotionNature;
+import com.github.joonasvali.naturalmouse.support.DefaultOvershootManager;
+import com.github.joonasvali.naturalmouse.support.Flow;
+import com.github.joonasvali.naturalmouse.support.mousemotion.Movement;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlanner;
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlayer;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import com.github.joonasvali.naturalmouse.util.Pair;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class TrajectoryPlanTest {
+  private static final int SCREEN_WIDTH = 800;
+  private static final int SCREEN_HEIGHT = 500;
+  private MouseMotionFactory factory;
+  private MockMouse mouse;
+
+  @BeforeEach
+  public void setup() {
+    mouse = new MockMouse(10, 20);
+    MockSystemCalls systemCalls = new MockSystemCalls(mouse, SCREEN_WIDTH, SCREEN_HEIGHT);
+    factory = new MouseMotionFactory(new DefaultMouseMotionNature(systemCalls, mouse));
+    factory.setRandom(new Random(1));
+  }
+
+  @Test
+  public void planEndsInDestinationWithoutMovingTheMouse() {
+    ((DefaultOvershootManager) factory.getOvershootManager()).setOvershoots(3);
+    TrajectoryPlan plan = factory.build(700, 400).plan();
+
+    Assertions.assertEquals(1, mouse.getMouseMovements().size());
+    Assertions.assertTrue(plan.size() > 0);
+    Assertions.assertTrue(plan.getMovementCount() > 1);
+    Assertions.assertEquals(plan.size(), plan.getMovementEnd(plan.getMovementCount() - 1));
+    Assertions.assertEquals(700, plan.getX(plan.size() - 1));
+    Assertions.assertEquals(400, plan.getY(plan.size() - 1));
+
+    long lastTime = 0;
+    for (int i = 0; i < plan.size(); i++) {
+      Assertions.assertTrue(plan.getX(i) >= 0 && plan.getX(i) < SCREEN_WIDTH);
+      Assertions.assertTrue(plan.getY(i) >= 0 && plan.getY(i) < SCREEN_HEIGHT);
+      Assertions.assertTrue(plan.getTimeMs(i) >= lastTime);
+      lastTime = plan.getTimeMs(i);
+    }
+    Assertions.assertTrue(plan.getDurationMs() >= lastTime);
+  }
+
+  @Test
+  public void planToCurrentPositionIsEmpty() {
+    TrajectoryPlan plan = factory.build(10, 20).plan();
+    Assertions.assertEquals(0, plan.size());
+    Assertions.assertEquals(0, plan.getMovementCount());
+    Assertions.assertEquals(0, plan.getDurationMs());
+  }
+
+  @Test
+  public void playerVisitsPlannedSteps() throws InterruptedException {
+    MouseMotion motion = factory.build(300, 200);
+    TrajectoryPlan plan = motion.plan(10, 20);
+    new TrajectoryPlayer(factory.getSystemCalls()).play(plan);
+
+    ArrayList<Point> movements = mouse.getMouseMovements();
+    Assertions.assertEquals(plan.size() + 1, movements.size());
+    for (int i = 0; i < plan.size(); i++) {
+      Assertions.assertEquals(new Point(plan.getX(i), plan.getY(i)), movements.get(i + 1));
+    }
+  }
+
+  @Test
+  public void stepRateAlignsStepsToGrid() {
+    factory.getNature().setStepRateHz(100);
+    TrajectoryPlan plan = factory.build(700, 400).plan();
+
+    Assertions.assertEquals(700, plan.getX(plan.size() - 1));
+    Assertions.assertEquals(400, plan.getY(plan.size() - 1));
+    long tickNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    long lastTime = -1;
+    for (int i = 0; i < plan.size(); i++) {
+      Assertions.assertEquals(0, plan.getTimeNanos(i) % tickNanos, "Step " + i + " is off the grid");
+      // No tick has more than one step.
+      Assertions.assertTrue(plan.getTimeNanos(i) > lastTime);
+      lastTime = plan.getTimeNanos(i);
+    }
+    Assertions.assertEquals(0, plan.getDurationNanos() % tickNanos);
+  }
+
+  @Test
+  public void stepRateAlignsLargeStartTimesToGrid() {
+    factory.getNature().setStepRateHz(144);
+    TrajectoryPlanner planner = new TrajectoryPlanner(
+        factory.getNature(), new Random(1), new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT)
+    );
+    Movement movement = new Movement(700, 400, 690, 690, 0, 500, new Flow(FlowTemplates.constantSpeed()));
+    // nanoTime can be anywhere in the long range, a double can't hold the exact value of this one.
+    long startTimeNanos = 1_000_000_000_000_000_001L;
+    TrajectoryPlan.Builder builder = new TrajectoryPlan.Builder();
+    long endTimeNanos = planner.planMovement(movement, 10, 400, startTimeNanos, builder);
+
+    long tickNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / 144d);
+    Assertions.assertTrue(builder.size() > 0);
+    Assertions.assertTrue(builder.getTimeNanos(0) >= startTimeNanos);
+    Assertions.assertTrue(builder.getTimeNanos(0) < startTimeNanos + tickNanos);
+    for (int i = 0; i < builder.size(); i++) {
+      Assertions.assertEquals(0, builder.getTimeNanos(i) % tickNanos, "Step " + i + " is off the grid");
+    }
+    Assertions.assertEquals(0, endTimeNanos % tickNanos);
+  }
+
+  @Test
+  public void stepsWhichDoNotMoveTheCursorAreLeftOut() {
+    ((DefaultOvershootManager) factory.getOvershootManager()).setOvershoots(0);
+    Flow flow = new Flow(FlowTemplates.stoppingFlow());
+    factory.setSpeedManager(distance -> new Pair<>(flow, 500L));
+    TrajectoryPlan plan = factory.build(300, 200).plan();
+
+    Assertions.assertEquals(300, plan.getX(plan.size() - 1));
+    Assertions.assertEquals(200, plan.getY(plan.size() - 1));
+    Point last = new Point(10, 20);
+    for (int i = 0; i < plan.size(); i++) {
+      Point step = new Point(plan.getX(i), plan.getY(i));
+      Assertions.assertNotEquals(last, step, "Step " + i + " doesn't move the cursor");
+      last = step;
+    }
+    // The left out steps don't shorten the movement.
+    Assertions.assertEquals(500, plan.getDurationMs());
+    int steps = (int) Math.ceil(Math.max(500 / factory.getNature().getTimeToStepsDivider(), factory.getNature().getMinSteps()));
+    Assertions.assertTrue(plan.size() < steps);
+  }
+}
@@ -21,6 +21,11 @@ public class MockSystemCalls extends DefaultSystemCalls {
     return 0;
   }
 
+  @Override
+  public long nanoTime() {
+    return 0;
+  }
+
   @Override
   public void sleep(long time) throws InterruptedException {
     // Do nothing.
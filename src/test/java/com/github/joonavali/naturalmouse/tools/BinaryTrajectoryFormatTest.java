@@ -0,0 +1,149 @@
+package com.github.joonavali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.tools.BinaryTrajectoryReader;
+import com.github.joonasvali.naturalmouse.tools.BinaryTrajectoryWriter;
+import com.github.joonasvali.naturalmouse.tools.TrajectoryGenerator;
+import com.github.joonavali.naturalmouse.testutils.MockMouse;
+import com.github.joonavali.naturalmouse.testutils.MockSystemCalls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BinaryTrajectoryFormatTest {
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void writtenTrajectoriesAreReadBack() throws Exception {
+    Path file = tempDir.resolve("trajectories.bin");
+    Map<Long, TrajectoryPlan> written = new ConcurrentHashMap<>();
+    Map<Long, Long> seeds = new ConcurrentHashMap<>();
+    try (BinaryTrajectoryWriter writer = new BinaryTrajectoryWriter(file)) {
+      new TrajectoryGenerator(new Dimension(800, 500)).generate(11, 100, (index, seed, plan) -> {
+        written.put(index, plan);
+        seeds.put(index, seed);
+        writer.accept(index, seed, plan);
+      });
+    }
+
+    long steps = written.values().stream().mapToLong(TrajectoryPlan::size).sum();
+    // Delta encoded steps should take a few bytes each, instead of 16 bytes for raw x, y and time.
+    Assertions.assertTrue(Files.size(file) < steps * 8, Files.size(file) + " bytes for " + steps + " steps");
+
+    try (BinaryTrajectoryReader reader = new BinaryTrajectoryReader(file)) {
+      Assertions.assertEquals(100, reader.size());
+      for (int i = 0; i < reader.size(); i++) {
+        long id = reader.getId(i);
+        TrajectoryPlan expected = written.get(id);
+        TrajectoryPlan actual = reader.read(i);
+        Assertions.assertEquals(seeds.get(id).longValue(), reader.getSeed(i));
+        Assertions.assertArrayEquals(expected.getXs(), actual.getXs());
+        Assertions.assertArrayEquals(expected.getYs(), actual.getYs());
+        Assertions.assertArrayEquals(expected.getTimesNanos(), actual.getTimesNanos());
+        Assertions.assertEquals(expected.getDurationNanos(), actual.getDurationNanos());
+        Assertions.assertEquals(expected.getMovementCount(), actual.getMovementCount());
+        for (int m = 0; m < expected.getMovementCount(); m++) {
+          Assertions.assertEquals(expected.getMovementEnd(m), actual.getMovementEnd(m));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void recordedTrajectoryIsReplayed() throws Exception {
+    Path file = tempDir.resolve("trajectory.bin");
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(10, 10, 0)
+        .addStep(12, 9, 1_000_000)
+        .addStep(20, 15, 2_000_000)
+        .endMovement()
+        .build(3_000_000);
+    try (BinaryTrajectoryWriter writer = new BinaryTrajectoryWriter(file)) {
+      writer.accept(0, 0, plan);
+    }
+
+    MockMouse mouse = new MockMouse();
+    try (BinaryTrajectoryReader reader = new BinaryTrajectoryReader(file)) {
+      reader.play(0, new MockSystemCalls(mouse, 800, 500), (x, y) -> {
+      });
+    }
+    Assertions.assertEquals(4, mouse.getMouseMovements().size());
+    Assertions.assertEquals(new Point(12, 9), mouse.getMouseMovements().get(2));
+    Assertions.assertEquals(new Point(20, 15), mouse.getMousePosition());
+  }
+
+  @Test
+  public void incompleteFileIsRejected() throws Exception {
+    Path file = tempDir.resolve("incomplete.bin");
+    BinaryTrajectoryWriter writer = new BinaryTrajectoryWriter(file);
+    writer.accept(0, 0, new TrajectoryPlan.Builder().addStep(1, 1, 0).endMovement().build(0));
+    // Not closed, so the index is missing.
+    Assertions.assertThrows(IOException.class, () -> new BinaryTrajectoryReader(file));
+    writer.close();
+  }
+
+  @Test
+  public void failedWriteLeavesFileWithoutIndex() throws Exception {
+    TrajectoryPlan plan = new TrajectoryPlan.Builder()
+        .addStep(10, 10, 0)
+        .addStep(20, 20, 1_000_000)
+        .endMovement()
+        .build(2_000_000);
+    // The header fits, the first record doesn't.
+    LimitedOutputStream out = new LimitedOutputStream(12);
+    BinaryTrajectoryWriter writer = new BinaryTrajectoryWriter(out);
+
+    Assertions.assertThrows(IOException.class, () -> writer.accept(0, 1, plan));
+    Assertions.assertEquals(0, writer.size());
+    IOException next = Assertions.assertThrows(IOException.class, () -> writer.accept(1, 2, plan));
+    Assertions.assertNotNull(next.getCause());
+    Assertions.assertThrows(IOException.class, writer::close);
+
+    Assertions.assertTrue(out.closed);
+    Assertions.assertEquals(12, out.size());
+  }
+
+  @Test
+  public void failedHeaderClosesStream() {
+    LimitedOutputStream out = new LimitedOutputStream(4);
+    Assertions.assertThrows(IOException.class, () -> new BinaryTrajectoryWriter(out));
+    Assertions.assertTrue(out.closed);
+  }
+
+  // Fails like a full disk after the limit, the bytes up to the limit are written.
+  private static class LimitedOutputStream extends OutputStream {
+    private final int limit;
+    private int size;
+    private boolean closed;
+
+    private LimitedOutputStream(int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (size == limit) {
+        throw new IOException("Disk full");
+      }
+      size++;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
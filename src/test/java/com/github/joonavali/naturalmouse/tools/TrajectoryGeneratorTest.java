@@ -0,0 +1,86 @@
+package com.github.joonavali.naturalmouse.tools;
+
+import com.github.joonasvali.naturalmouse.support.mousemotion.TrajectoryPlan;
+import com.github.joonasvali.naturalmouse.tools.CsvTrajectoryWriter;
+import com.github.joonasvali.naturalmouse.tools.TrajectoryGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+public class TrajectoryGeneratorTest {
+  private static final Dimension SCREEN = new Dimension(800, 500);
+  private static final int COUNT = 300;
+
+  @Test
+  public void sameSeedProducesSameTrajectoriesRegardlessOfParallelism() throws Exception {
+    Map<Long, TrajectoryPlan> parallel = generate(new ForkJoinPool(4));
+    Map<Long, TrajectoryPlan> sequential = generate(new ForkJoinPool(1));
+
+    Assertions.assertEquals(COUNT, parallel.size());
+    for (long i = 0; i < COUNT; i++) {
+      assertSamePlan(sequential.get(i), parallel.get(i));
+    }
+  }
+
+  @Test
+  public void singleTrajectoryCanBeReproducedFromItsSeed() throws Exception {
+    TrajectoryGenerator generator = createGenerator(ForkJoinPool.commonPool());
+    Map<Long, Long> seeds = new ConcurrentHashMap<>();
+    Map<Long, TrajectoryPlan> plans = new ConcurrentHashMap<>();
+    generator.generate(5, 20, (index, seed, plan) -> {
+      seeds.put(index, seed);
+      plans.put(index, plan);
+    });
+
+    for (long i = 0; i < 20; i++) {
+      assertSamePlan(plans.get(i), generator.generateOne(seeds.get(i)));
+    }
+  }
+
+  @Test
+  public void csvContainsEveryStep() throws Exception {
+    TrajectoryGenerator generator = createGenerator(ForkJoinPool.commonPool());
+    StringWriter out = new StringWriter();
+    Map<Long, Integer> sizes = new ConcurrentHashMap<>();
+    try (CsvTrajectoryWriter writer = new CsvTrajectoryWriter(out)) {
+      generator.generate(3, 50, (index, seed, plan) -> {
+        sizes.put(index, plan.size());
+        writer.accept(index, seed, plan);
+      });
+    }
+
+    String[] lines = out.toString().split("\n");
+    int steps = sizes.values().stream().mapToInt(Integer::intValue).sum();
+    Assertions.assertEquals(CsvTrajectoryWriter.HEADER, lines[0]);
+    Assertions.assertEquals(steps + 1, lines.length);
+    Assertions.assertEquals(6, lines[1].split(",").length);
+  }
+
+  private Map<Long, TrajectoryPlan> generate(ForkJoinPool pool) throws Exception {
+    Map<Long, TrajectoryPlan> result = new ConcurrentHashMap<>();
+    try {
+      createGenerator(pool).generate(42, COUNT, (index, seed, plan) -> result.put(index, plan));
+    } finally {
+      pool.shutdown();
+    }
+    return result;
+  }
+
+  private TrajectoryGenerator createGenerator(ForkJoinPool pool) {
+    TrajectoryGenerator generator = new TrajectoryGenerator(TrajectoryGenerator::createDefaultNature, SCREEN, pool);
+    generator.setBatchSize(16);
+    return generator;
+  }
+
+  private void assertSamePlan(TrajectoryPlan expected, TrajectoryPlan actual) {
+    Assertions.assertArrayEquals(expected.getXs(), actual.getXs());
+    Assertions.assertArrayEquals(expected.getYs(), actual.getYs());
+    Assertions.assertArrayEquals(expected.getTimesNanos(), actual.getTimesNanos());
+    Assertions.assertEquals(expected.getDurationNanos(), actual.getDurationNanos());
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.joonavali.naturalmouse.util;
+
+import com.github.joonasvali.naturalmouse.util.FlowResampler;
+import com.github.joonasvali.naturalmouse.util.FlowTemplates;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class FlowResamplerTest {
+  private static final double SMALL_DELTA = 10e-6;
+
+  @Test
+  public void linearStretchesBetweenTheValues() {
+    double[] flow = {1, 2, 3};
+    Assertions.assertArrayEquals(
+        new double[]{1.0, 1.5, 2.0, 2.5, 3},
+        FlowResampler.resample(flow, 5, FlowResampler.Mode.LINEAR), SMALL_DELTA
+    );
+    Assertions.assertArrayEquals(
+        new double[]{1.047619, 1.428571, 1.809523, 2.190476, 2.571428, 2.952380},
+        FlowResampler.resample(flow, 6, FlowResampler.Mode.LINEAR), SMALL_DELTA
+    );
+  }
+
+  @Test
+  public void areaPreservesAverage() {
+    double[] flow = FlowTemplates.variatingFlow();
+    for (int length : new int[]{1, 7, flow.length, 333, 10000}) {
+      double[] result = FlowResampler.resample(flow, length, FlowResampler.Mode.AREA);
+      Assertions.assertEquals(average(flow), average(result), SMALL_DELTA);
+    }
+    Assertions.assertArrayEquals(
+        new double[]{1, 1, 1.5, 2, 2},
+        FlowResampler.resample(new double[]{1, 2}, 5, FlowResampler.Mode.AREA), SMALL_DELTA
+    );
+  }
+
+  @Test
+  public void cubicKeepsTheValuesAtTheEnds() {
+    double[] flow = {0, 10, 100, 10, 0};
+    double[] result = FlowResampler.resample(flow, 101, FlowResampler.Mode.CUBIC);
+    Assertions.assertEquals(0, result[0], SMALL_DELTA);
+    Assertions.assertEquals(100, result[50], SMALL_DELTA);
+    Assertions.assertEquals(0, result[100], SMALL_DELTA);
+    for (double value : result) {
+      Assertions.assertTrue(value >= 0);
+    }
+  }
+
+  @Test
+  public void resultIsWrittenIntoSuppliedArray() {
+    double[] flow = FlowTemplates.jaggedFlow();
+    double[] out = new double[10000];
+    for (FlowResampler.Mode mode : FlowResampler.Mode.values()) {
+      double[] expected = FlowResampler.resample(flow, out.length, mode);
+      Assertions.assertSame(out, FlowResampler.resample(flow, out, mode, value -> value * 2));
+      for (int i = 0; i < out.length; i++) {
+        Assertions.assertEquals(expected[i] * 2, out[i], SMALL_DELTA);
+      }
+    }
+  }
+
+  private static double average(double[] array) {
+    return Arrays.stream(array).sum() / array.length;
+  }
+}